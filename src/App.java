@@ -1,56 +1,481 @@
 import cnf.ClauseSet;
-import static connective.Connective.*;
+import cnf.Dimacs;
+import cnf.PreprocessingPass;
+import cnf.Preprocessor;
 import formula.*;
-import resolution.Resolution;
+import literal.Literal;
+import resolution.CdclEngine;
+import resolution.DavisPutnamEngine;
+import resolution.DpllEngine;
+import resolution.Batch;
+import resolution.EngineType;
+import resolution.ParallelResolution;
+import resolution.Portfolio;
+import resolution.PortfolioResult;
+import resolution.ResolutionConfig;
+import resolution.Refutation;
+import resolution.ResolutionEngine;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import antlr4.ParseFormula;
+import sat.Budget;
+import sat.SatResult;
+import sat.Verdict;
 
 /**
  * this class is used to check whether a formula reads
  * as input is a tautology or not.
- * 
- * The main method prints to stdout: 
+ *
+ * The main method prints to stdout:
  * - the input formula f.
  * - the corresponding clause set of its negation.
  * - if the command-line argument "-v" is provided, the verbose mode is enabled,
  *      which prints the trace of resolution steps performed by the "isSatisfiable"
  *      method. Otherwise, the verbose mode is disabled by default.
+ * - if the command-line argument "-sos" is provided and f has the form
+ *      "premises -> conclusion", the set-of-support strategy is used: only the
+ *      clauses of the negated conclusion and their resolvents are in the set of support.
+ * - if the command-line argument "-pre" is provided, the clause set is simplified
+ *      before the resolution method, and a report of the simplification is printed.
+ *      With "-pre=pass1,pass2,..." only the listed passes are enabled
+ *      (tautologies, unit-propagation, pure-literals, subsumption, self-subsumption,
+ *      variable-elimination). The variable elimination is only enabled when listed; the
+ *      models found on the simplified set are extended to the atoms it removed.
+ * - if the command-line argument "-cnf=tseitin" is provided, the negation is converted
+ *      with the Tseitin transformation, which introduces new atoms ("_t...") and
+ *      produces a clause set of linear size. "-cnf=polarity" is the polarity-aware variant
+ *      (Plaisted-Greenbaum), which only adds the implications required by the polarity of
+ *      each subformula. "-cnf=auto" chooses the exhaustive conversion when the equivalent
+ *      clause set is small, and the polarity-aware one otherwise. "-cnf=exhaustive" is the default.
+ * - if the command-line argument "-dimacs-out=file" is provided, the clause set is also
+ *      written to the file in the DIMACS CNF format.
+ * - if the command-line argument "-dimacs-in=file" is provided, no formula is read:
+ *      the clause set is read from the DIMACS CNF file, and the program prints
+ *      whether it is satisfiable.
+ * - if the command-line argument "-parallel" is provided, the resolvents are computed
+ *      in parallel by the threads of the common fork/join pool (see {@link ParallelResolution}):
+ *      with "-v" a line is printed for each round instead of the single steps.
+ * - if the command-line argument "-dpll" is provided, the satisfiability of the clause set
+ *      is decided by the DPLL procedure instead of the resolution method (see {@link DpllEngine}):
+ *      when f is not a tautology, an assignment which makes f false is printed.
+ *      With "-cdcl" the conflict-driven clause learning procedure is used (see {@link CdclEngine}):
+ *      with "-v" the resolution steps of the refutation are printed when f is a tautology.
+ *      With "-dp" the Davis-Putnam procedure is used, which eliminates the atoms one at a time
+ *      by resolution (see {@link DavisPutnamEngine}): with "-v" its resolution steps are printed.
+ *      These procedures cannot be used with "-sos".
+ * - if the command-line argument "-portfolio" is provided, the resolution method, the DPLL and
+ *      the CDCL procedures are raced in parallel (see {@link Portfolio}), and the program prints
+ *      which one answered first. "-portfolio=engine,..." races the listed engines
+ *      (resolution, given-clause, parallel, dpll, cdcl, davis-putnam). It cannot be used with "-sos".
+ *      At most one of "-parallel", "-dpll", "-cdcl", "-dp" and "-portfolio" can be provided.
+ * - the arguments "-timeout=ms", "-max-resolvents=n", "-max-clauses=n" and "-max-heap=mb"
+ *      limit the resources of the resolution method: when a limit is reached, the program
+ *      prints that the result is unknown.
  * - finally prints to Stdout whether f is a tautology or not
+ *
+ * With the command-line argument "-batch" many formulas are read from stdin, one per line
+ * ("-batch=file" reads them from the file), and checked by a pool of threads
+ * ("-threads=n", by default one per processor): a line with the result and the time
+ * is printed for each formula, in the order of the input (see {@link Batch}).
+ * The options "-sos", "-pre", "-cnf", "-portfolio" and the limits apply to every formula.
  */
 public class App {
 
+    private static final EngineType[] DEFAULT_PORTFOLIO = { EngineType.RESOLUTION, EngineType.DPLL, EngineType.CDCL };
+
+    private static final String USAGE = "Usage: App [-v] [-sos] [-pre[=pass,...]] [-cnf=exhaustive|tseitin|polarity|auto]"
+        + " [-dimacs-in=file] [-dimacs-out=file] [-parallel|-dpll|-cdcl|-dp|-portfolio[=engine,...]]"
+        + " [-timeout=ms] [-max-resolvents=n] [-max-clauses=n] [-max-heap=mb] [-batch[=file] [-threads=n]]";
+
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        String formulaStr = sc.nextLine();
-        sc.close();
+        boolean verbose = false;
+        boolean setOfSupport = false;
+        Preprocessor preprocessor = null;
+        CnfTransformation transformation = CnfTransformation.EXHAUSTIVE;
+        String dimacsIn = null;
+        String dimacsOut = null;
+        Set<EngineType> engines = EnumSet.noneOf(EngineType.class); //the engines selected by the options
+        EngineType[] portfolio = null; //null, if the engines are not raced
+        boolean batch = false;
+        String batchFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Budget budget = new Budget();
+
+        for (String arg : args) {
+            switch (arg) {
+                case "-v":
+                    verbose = true;
+                    break;
+                case "-sos":
+                    setOfSupport = true;
+                    break;
+                case "-pre":
+                    preprocessor = new Preprocessor();
+                    break;
+                case "-cnf=exhaustive":
+                    transformation = CnfTransformation.EXHAUSTIVE;
+                    break;
+                case "-cnf=tseitin":
+                    transformation = CnfTransformation.TSEITIN;
+                    break;
+                case "-cnf=polarity":
+                    transformation = CnfTransformation.POLARITY;
+                    break;
+                case "-cnf=auto":
+                    transformation = CnfTransformation.AUTO;
+                    break;
+                case "-parallel":
+                    engines.add(EngineType.PARALLEL);
+                    break;
+                case "-dpll":
+                    engines.add(EngineType.DPLL);
+                    break;
+                case "-cdcl":
+                    engines.add(EngineType.CDCL);
+                    break;
+                case "-dp":
+                    engines.add(EngineType.DAVIS_PUTNAM);
+                    break;
+                case "-portfolio":
+                    portfolio = DEFAULT_PORTFOLIO;
+                    break;
+                case "-batch":
+                    batch = true;
+                    break;
+                default:
+                    if (arg.startsWith("-batch=")) {
+                        batch = true;
+                        batchFile = arg.substring("-batch=".length());
+                        break;
+                    }
+
+                    if (arg.startsWith("-threads=")) {
+                        threads = (int) Math.min(parsePositive(arg.substring("-threads=".length())), Integer.MAX_VALUE);
+
+                        if (threads > 0) break;
+                    }
+
+                    if (parseLimit(arg, budget)) break;
+
+                    if (arg.startsWith("-portfolio=")) {
+                        portfolio = parseEngines(arg.substring("-portfolio=".length()));
+
+                        if (portfolio != null) break;
+                    }
+
+                    if (arg.startsWith("-dimacs-in=")) {
+                        dimacsIn = arg.substring("-dimacs-in=".length());
+                        break;
+                    }
+
+                    if (arg.startsWith("-dimacs-out=")) {
+                        dimacsOut = arg.substring("-dimacs-out=".length());
+                        break;
+                    }
+
+                    Preprocessor selected = null;
+
+                    if (arg.startsWith("-pre=")) {
+                        selected = parsePasses(arg.substring("-pre=".length()));
+                    }
+
+                    if (selected == null) {
+                        System.out.println("Unknown option: " + arg);
+                        System.out.println(USAGE);
+                        return;
+                    }
+
+                    preprocessor = selected;
+            }
+        }
+
+        if (engines.size() + (portfolio != null ? 1 : 0) > 1) {
+            System.out.println("The options -parallel, -dpll, -cdcl, -dp and -portfolio cannot be used together");
+            System.out.println(USAGE);
+            return;
+        }
+
+        //the resolution method is used if no engine is selected
+        EngineType engineType = engines.isEmpty() ? EngineType.RESOLUTION : engines.iterator().next();
+
+        if (setOfSupport && (portfolio != null || (engineType != EngineType.RESOLUTION && engineType != EngineType.PARALLEL))) {
+            System.out.println("The option -sos cannot be used with -dpll, -cdcl, -dp and -portfolio");
+            System.out.println(USAGE);
+            return;
+        }
 
-        Formula f = ParseFormula.parse(formulaStr);
+        if (batch) {
+            if (verbose || !engines.isEmpty() || dimacsIn != null || dimacsOut != null) {
+                System.out.println("The options -v, -parallel, -dpll, -cdcl, -dp, -dimacs-in and -dimacs-out cannot be used with -batch");
+                return;
+            }
 
-        if (f == null) {
-            System.out.println("\nYour formula in input is not a well-formed formula");
+            runBatch(new Batch(threads, transformation, preprocessor, setOfSupport, budget, portfolio), batchFile);
             return;
         }
 
-        System.out.println("\nYour formula in input:");
-        System.out.println(f);
+        Refutation refutation;
+        ClauseSet cnf;
+        ClauseSet support = null;
+
+        if (dimacsIn != null) {
+            try {
+                cnf = Dimacs.read(Paths.get(dimacsIn));
+            } catch (IOException e) {
+                System.out.println("\nThe file " + dimacsIn + " cannot be read: " + e.getMessage());
+                return;
+            }
+
+            refutation = new Refutation(cnf);
+
+            System.out.println("\nThe clause set read from " + dimacsIn + " contains " + cnf.size() + " clauses.\n");
+        } else {
+            Scanner sc = new Scanner(System.in);
+            String formulaStr = sc.nextLine();
+            sc.close();
+
+            Formula f = ParseFormula.parse(formulaStr);
+
+            if (f == null) {
+                System.out.println("\nYour formula in input is not a well-formed formula");
+                return;
+            }
+
+            System.out.println("\nYour formula in input:");
+            System.out.println(f);
+
+            if (setOfSupport && !Refutation.isImplication(f)) {
+                System.out.println("\nThe formula is not an implication: the set of support is not used.");
+            }
+
+            //the negation of "premises -> conclusion" is "premises & ~conclusion"
+            refutation = new Refutation(f, transformation, setOfSupport);
+            cnf = refutation.getClauses();
+            support = refutation.getSupport();
+
+            System.out.println("\nThe corresponding clause set of the negation is:");
+            System.out.println(cnf);
+            System.out.println();
+        }
+
+        if (dimacsOut != null) {
+            try {
+                Dimacs.write(cnf, Paths.get(dimacsOut));
+                System.out.println("The clause set has been written to " + dimacsOut + "\n");
+            } catch (IOException e) {
+                System.out.println("The file " + dimacsOut + " cannot be written: " + e.getMessage() + "\n");
+            }
+        }
+
+        ResolutionConfig config = new ResolutionConfig();
+        config.setEnableSteps(verbose);
+        config.setBudget(budget);
+
+        if (preprocessor != null) {
+            //the clauses produced by the simplification may come from the set of support
+            boolean consistent = refutation.simplify(preprocessor);
+
+            System.out.println(preprocessor);
+
+            if (!consistent) {
+                printResult(false, dimacsIn == null);
+                return;
+            }
+
+            if (cnf.isEmpty()) {
+                printResult(true, dimacsIn == null);
+                printModel(preprocessor.extendModel(Collections.emptyList()), dimacsIn == null);
+                return;
+            }
+
+            System.out.println("The simplified clause set is:");
+            System.out.println(cnf);
+            System.out.println();
+        }
+
+        SatResult result;
+
+        if (portfolio != null) {
+            PortfolioResult race = new Portfolio(config, portfolio).race(cnf);
 
-        //negate formula f
-        Formula not_f = new CompoundFormula(NOT, f);
+            result = race.getResult();
 
-        ClauseSet cnf = not_f.toCnf();
-            
-        System.out.println("\nThe corresponding clause set of the negation is:");
-        System.out.println(cnf);
-        System.out.println();
+            if (race.getWinner() != null) {
+                System.out.println("The " + race.getWinner() + " engine answered first, in " + result.getMillis() + " ms\n");
+            }
+        } else if (support != null) {
+            System.out.println("The set of support is:");
+            System.out.println(support);
+            System.out.println();
 
-        if (args.length != 0 && args[0].equals("-v")) {
-            Resolution.setEnableSteps(true);
+            //only the resolution engines take a set of support
+            result = (engineType == EngineType.PARALLEL)
+                ? new ParallelResolution(config, ForkJoinPool.commonPool()).solve(cnf, support)
+                : new ResolutionEngine(config).solve(cnf, support);
+        } else {
+            //only the selected engine is built
+            result = engineType.create(config).solve(cnf);
         }
 
-        if (Resolution.isSatisfiable(cnf)) {
+        if (result.getVerdict() == Verdict.UNKNOWN) {
+            System.out.println("The result is unknown: the " + result.getLimit() + " limit has been reached");
+        } else {
+            printResult(result.getVerdict() == Verdict.SAT, dimacsIn == null);
+
+            if (result.getModel() != null) {
+                List<Literal> model = result.getModel();
+
+                //the atoms removed by the simplification are assigned too
+                if (preprocessor != null) model = preprocessor.extendModel(model);
+
+                printModel(model, dimacsIn == null);
+            }
+        }
+    }
+
+    /**
+     * prints a model of the clause set: the assignment which makes the formula in input false,
+     * or which satisfies the clause set read from a DIMACS file.
+     * the atoms introduced by the conversion to CNF ("_t...") are not printed.
+     *
+     * @param model the literals true in the model.
+     * @param formula true, if the input is a formula.
+     */
+    private static void printModel(List<Literal> model, boolean formula) {
+        StringBuilder res = new StringBuilder(formula ? "A falsifying assignment:" : "A model:");
+
+        for (Literal l : model) {
+            if (!l.getName().startsWith("_")) res.append(" " + l);
+        }
+
+        System.out.println(res);
+    }
+
+    /**
+     * prints whether the formula in input is a tautology, or whether
+     * the clause set read from a DIMACS file is satisfiable.
+     *
+     * @param satisfiable true, if the negation of the formula (or the clause set) is satisfiable.
+     * @param formula true, if the input is a formula.
+     */
+    private static void printResult(boolean satisfiable, boolean formula) {
+        if (!formula) {
+            System.out.println(satisfiable ? "The clause set is satisfiable" : "The clause set is unsatisfiable");
+        } else if (satisfiable) {
             System.out.println("The formula is not a tautology");
         } else {
             System.out.println("The formula is a tautology");
         }
     }
+
+    /**
+     * @param list a comma-separated list of names of preprocessing passes.
+     * @return a preprocessor with only the listed passes enabled.
+     *         null, if a name is not valid.
+     */
+    private static Preprocessor parsePasses(String list) {
+        Preprocessor p = new Preprocessor();
+
+        for (PreprocessingPass pass : PreprocessingPass.values()) {
+            p.setEnabled(pass, false);
+        }
+
+        for (String name : list.split(",")) {
+            PreprocessingPass found = null;
+
+            for (PreprocessingPass pass : PreprocessingPass.values()) {
+                if (pass.toString().equals(name)) found = pass;
+            }
+
+            if (found == null) return null;
+
+            p.setEnabled(found, true);
+        }
+
+        return p;
+    }
+
+    /**
+     * @param list a comma-separated list of names of engine types.
+     * @return the listed engine types. null, if a name is not valid.
+     */
+    private static EngineType[] parseEngines(String list) {
+        String[] names = list.split(",");
+        EngineType[] res = new EngineType[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            for (EngineType type : EngineType.values()) {
+                if (type.toString().equals(names[i])) res[i] = type;
+            }
+
+            if (res[i] == null) return null;
+        }
+
+        return res;
+    }
+
+    /**
+     * runs the batch mode on the formulas of the file, or of stdin if file is null.
+     */
+    private static void runBatch(Batch b, String file) {
+        try (BufferedReader in = (file == null)
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(file))) {
+            b.run(in, System.out);
+        } catch (IOException e) {
+            System.out.println("The formulas cannot be read: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param value the value of an option.
+     * @return the value as a positive number, 0 if it is not a positive integer.
+     */
+    private static long parsePositive(String value) {
+        try {
+            return Math.max(Long.parseLong(value), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * sets a limit of the budget, if the argument is a valid limit option.
+     *
+     * @param arg a command-line argument.
+     * @param budget the budget to be updated.
+     * @return true, if arg is a valid limit option.
+     */
+    private static boolean parseLimit(String arg, Budget budget) {
+        int eq = arg.indexOf('=');
+        long value = (eq < 0) ? 0 : parsePositive(arg.substring(eq + 1));
+
+        if (value == 0) return false;
+
+        switch (arg.substring(0, eq)) {
+            case "-timeout":
+                budget.setTimeLimit(value);
+                return true;
+            case "-max-resolvents":
+                budget.setMaxResolvents(value);
+                return true;
+            case "-max-clauses":
+                budget.setMaxClauses(value);
+                return true;
+            case "-max-heap":
+                budget.setMaxHeapBytes(value > Long.MAX_VALUE >> 20 ? Budget.UNLIMITED : value << 20);
+                return true;
+            default:
+                return false;
+        }
+    }
 }
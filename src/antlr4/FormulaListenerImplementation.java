@@ -1,5 +1,6 @@
 package antlr4;
 
+import java.util.Objects;
 import java.util.Stack;
 import antlr4.FormulaExpressionParser.Atomic_formulaContext;
 import antlr4.FormulaExpressionParser.FormulaContext;
@@ -8,16 +9,33 @@ import static connective.Connective.*;
 
 /**
  * this class extends the FormulaExpression base listener,
- * in order to parse the input formula
+ * in order to parse the input formula.
+ * the formulas are built by a FormulaFactory, so equal subformulas are shared.
  */
 public class FormulaListenerImplementation extends FormulaExpressionBaseListener {
 
     private Stack<Formula> stack = new Stack<>(); 
+    private final FormulaFactory factory;
+
+    /**
+     * Constructs a listener which builds the formulas with a new factory.
+     */
+    public FormulaListenerImplementation() {
+        this(new FormulaFactory());
+    }
+
+    /**
+     * @param factory the factory used to build the formulas.
+     * @throws NullPointerException if factory is null.
+     */
+    public FormulaListenerImplementation(FormulaFactory factory) {
+        this.factory = Objects.requireNonNull(factory);
+    }
 
     @Override
     public void exitAtomic_formula(Atomic_formulaContext ctx) {
         // create new atomic formula and adds it on the stack
-        AtomicFormula af = new AtomicFormula(ctx.getText());
+        AtomicFormula af = factory.atom(ctx.getText());
 
         stack.push(af);
     }
@@ -27,7 +45,7 @@ public class FormulaListenerImplementation extends FormulaExpressionBaseListener
 
         if (ctx.unary_connective() != null) {
             Formula f = stack.pop();
-            Formula not_f = new CompoundFormula(NOT, f);
+            Formula not_f = factory.not(f);
             stack.push(not_f);
 
         } else if (ctx.binary_connective() != null) {
@@ -38,19 +56,19 @@ public class FormulaListenerImplementation extends FormulaExpressionBaseListener
 
             switch (conn) {
                 case "&":
-                    CompoundFormula and = new CompoundFormula(AND, left, right);
+                    CompoundFormula and = factory.compound(AND, left, right);
                     stack.push(and);
                     return;
                 case "|":
-                    CompoundFormula or = new CompoundFormula(OR, left, right);
+                    CompoundFormula or = factory.compound(OR, left, right);
                     stack.push(or);
                     return;
                 case "->":
-                    CompoundFormula impl = new CompoundFormula(IMPLIES, left, right);
+                    CompoundFormula impl = factory.compound(IMPLIES, left, right);
                     stack.push(impl);
                     return;
                 case "<->":
-                    CompoundFormula iff = new CompoundFormula(IFF, left, right);
+                    CompoundFormula iff = factory.compound(IFF, left, right);
                     stack.push(iff);
                     return;
             }
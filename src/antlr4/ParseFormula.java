@@ -13,13 +13,27 @@ public class ParseFormula {
      *         Return null, if the specified string is a non valid formula.
      */
     public static Formula parse(String formulaStr) {
+        return parse(formulaStr, new FormulaFactory());
+    }
+
+    /**
+     * Parses the string argument as a formula, building its subformulas with the
+     * specified factory, so they are shared with the other formulas of the factory.
+     * 
+     * @param formulaStr the string to be parsed.
+     * @param factory the factory used to build the formula.
+     * @return the formula obtained by parsing the specified string.
+     *         Return null, if the specified string is a non valid formula.
+     * @throws NullPointerException if factory is null.
+     */
+    public static Formula parse(String formulaStr, FormulaFactory factory) {
         CharStream input = CharStreams.fromString(formulaStr);
         FormulaExpressionLexer lexer = new FormulaExpressionLexer(input);
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         FormulaExpressionParser parser = new FormulaExpressionParser(tokens);
 
         //create listener
-        FormulaListenerImplementation listener = new FormulaListenerImplementation();
+        FormulaListenerImplementation listener = new FormulaListenerImplementation(factory);
 
         //adds the listener to the parser
         parser.addParseListener(listener);
@@ -1,24 +1,38 @@
 package cnf;
 
 import literal.Literal;
-import java.util.Set;
+import literal.LiteralTable;
+import java.util.Arrays;
 import java.util.List;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * this class represents a clause. a clause is a disjunction of literals, 
+ * this class represents a clause. a clause is a disjunction of literals,
  * which may or may not be negated.
+ *
+ * Objects instantiated by this class are immutable: the literals are stored as a sorted
+ * array of codes of the {@link LiteralTable}, without duplicates, together with a
+ * precomputed hash code and a 64-bit signature (bit "code % 64" is set for each literal),
+ * used to quickly reject subset tests.
+ * Since the code of a literal and the code of its opposite are adjacent, a clause is a
+ * tautology if and only if two adjacent codes differ only in the lowest bit, so this
+ * property is computed once, while the clause is built.
  */
 public class Clause implements Iterable<Literal> {
 
-    //STATIC FIELDS 
-    private static int count = 0;
+    //STATIC FIELDS
+    private static final AtomicInteger count = new AtomicInteger(); //the index of the next clause
+    private static final int[] NO_LITERALS = new int[0];
 
     //FIELDS
-    private Set<Literal> literals; //the set containing the literals of the clause.
-    private int index;
+    private final int[] literals; //the sorted codes of the literals of the clause.
+    private final int hash;
+    private final long signature;
+    private final boolean tautology;
+    private final int index;
 
     //CONSTRUCTORS
 
@@ -26,35 +40,96 @@ public class Clause implements Iterable<Literal> {
      * Constructs a new, empty clause.
      */
     public Clause() {
-        this.literals = new HashSet<>();
-        this.index = count;
-        count++;
+        this(NO_LITERALS);
     }
 
     /**
      * Constructs a new clause, containing the specified literal.
-     * 
+     *
      * @param l the literal to be placed into the clause
      * @throws NullPointerException - if l is null.
      */
     public Clause(Literal l) {
-        this();
-        
-        Objects.requireNonNull(l);
-        this.literals.add(l);
+        this(new int[] { Objects.requireNonNull(l).getCode() });
     }
 
     /**
      * Constructs a new clause containing the literals in the specified list.
-     * 
+     *
      * @param list the list of literals whose elements are to be placed
      *             into this clause.
      * @throws NullPointerException - if the specified list is null.
      */
     public Clause(List<Literal> list) {
-        this.literals = new HashSet<>(list);
-        this.index = count;
-        count++;
+        this(normalize(codesOf(list)));
+    }
+
+    /**
+     * Constructs a new clause from an array of codes that is already sorted and
+     * without duplicates. The array is not copied.
+     */
+    private Clause(int[] sortedCodes) {
+        this.literals = sortedCodes;
+        this.index = count.getAndIncrement();
+
+        int h = 1;
+        long sig = 0L;
+        boolean taut = false;
+
+        for (int i = 0; i < sortedCodes.length; i++) {
+            int code = sortedCodes[i];
+            h = 31 * h + code;
+            sig |= 1L << (code & 63);
+
+            if (i > 0 && sortedCodes[i - 1] == LiteralTable.opposite(code)) {
+                taut = true;
+            }
+        }
+
+        this.hash = h;
+        this.signature = sig;
+        this.tautology = taut;
+    }
+
+    //STATIC METHODS
+
+    /**
+     * @param codes the codes of the literals of the clause, in any order and
+     *              possibly with duplicates. the array is not modified.
+     * @return the clause containing the specified literals.
+     * @throws NullPointerException if the array is null.
+     */
+    public static Clause of(int... codes) {
+        return new Clause(normalize(codes.clone()));
+    }
+
+    private static int[] codesOf(List<Literal> list) {
+        int[] codes = new int[list.size()];
+        int i = 0;
+
+        for (Literal l : list) {
+            codes[i++] = l.getCode();
+        }
+
+        return codes;
+    }
+
+    /**
+     * sorts the array and removes the duplicates.
+     *
+     * @return the array itself, or a shorter copy if it contained duplicates.
+     */
+    private static int[] normalize(int[] codes) {
+        Arrays.sort(codes);
+
+        int n = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (n == 0 || codes[n - 1] != codes[i]) {
+                codes[n++] = codes[i];
+            }
+        }
+
+        return (n == codes.length) ? codes : Arrays.copyOf(codes, n);
     }
 
     //METHODS
@@ -68,62 +143,71 @@ public class Clause implements Iterable<Literal> {
 
     @Override
     public Iterator<Literal> iterator() {
-        return literals.iterator();
+        return new Iterator<Literal>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < literals.length;
+            }
+
+            @Override
+            public Literal next() {
+                if (!hasNext()) throw new NoSuchElementException();
+
+                return LiteralTable.toLiteral(literals[next++]);
+            }
+        };
     }
 
     /**
-     * this method adds a new literal to the clause. 
-     * if the literal is already present in the this clause, it does nothing.
-     * 
-     * @param l the literal to add to the clause.
-     * @throws NullPointerException if the parameter is null
+     *
+     * @param i the position of the literal, between 0 and size() - 1.
+     * @return the code of the i-th literal of this clause, in increasing order of code.
+     * @throws ArrayIndexOutOfBoundsException if i is not a valid position.
      */
-    public void add(Literal l) {
-        Objects.requireNonNull(l);
-
-        this.literals.add(l);
+    public int literalAt(int i) {
+        return this.literals[i];
     }
 
     /**
-     * this method removes a literal from the clause. 
-     * if the literal is not present in the clause, it does nothing.
-     * 
-     * @param l the literal to be removed from the clause.
-     * @throws NullPointerException if the parameter is null.
+     *
+     * @return a copy of the sorted array of the codes of the literals of this clause.
      */
-    public void remove(Literal l) {
-        Objects.requireNonNull(l);
-
-        this.literals.remove(l);
+    public int[] toArray() {
+        return this.literals.clone();
     }
 
     /**
-     * 
+     *
      * @return the number of literals in the clause.
      */
     public int size() {
-        return this.literals.size();
+        return this.literals.length;
     }
-    
+
+    /**
+     *
+     * @return the 64-bit signature of this clause. if this clause is a subset of
+     *         another clause, then its signature is a subset of the other signature.
+     */
+    public long getSignature() {
+        return this.signature;
+    }
+
     /**
      *
      * @return true, if the Clause is a tautology.
      *         false, otherwise.
      */
     public boolean isTautology() {
-        for (Literal l1 : this.literals) {
-            for (Literal l2 : this.literals) { 
-                if (l1.equals(l2.getOpposite())) return true;
-            }
-        }
-
-        return false;
+        return this.tautology;
     }
 
     /**
      * merges this clause with the specified clause,
      * applying "union" operation of the set.
-     * 
+     *
      * @param c the clause to be merged with this clause.
      * @return the clause which represents the union of this clause
      *         with the specified parameter.
@@ -131,54 +215,161 @@ public class Clause implements Iterable<Literal> {
     public Clause union(Clause c) {
         Objects.requireNonNull(c);
 
-        Clause result = new Clause();
+        return merge(this.literals, c.literals, -1);
+    }
 
-        for (Literal l : this.literals) {
-            result.add(l);
+    /**
+     * applies the resolution rule to this clause and the specified clause:
+     * the result is the union of the two clauses, without the literal with
+     * the specified code and its opposite.
+     *
+     * @param c the clause to be resolved with this clause.
+     * @param code the code of the literal to be removed, with its opposite.
+     * @return the resolvent of the two clauses.
+     * @throws NullPointerException if c is null.
+     */
+    public Clause resolve(Clause c, int code) {
+        Objects.requireNonNull(c);
+
+        return merge(this.literals, c.literals, LiteralTable.variable(code));
+    }
+
+    /**
+     * linear merge of two sorted arrays of codes, skipping the literals of
+     * the variable "skipVar" (if it is not negative).
+     */
+    private static Clause merge(int[] a, int[] b, int skipVar) {
+        int[] res = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < a.length || j < b.length) {
+            int code;
+
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                code = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                code = b[j++];
+            } else {
+                //same literal in both clauses
+                code = a[i++];
+                j++;
+            }
+
+            if (LiteralTable.variable(code) != skipVar) {
+                res[n++] = code;
+            }
         }
 
-        for (Literal l : c.literals) {
-            result.add(l);
+        return new Clause((n == res.length) ? res : Arrays.copyOf(res, n));
+    }
+
+    /**
+     *
+     * @param c the clause to be compared with this clause.
+     * @return the code of a literal of this clause whose opposite is in c.
+     *         -1, if there is no such literal.
+     * @throws NullPointerException if c is null.
+     */
+    public int complementaryLiteral(Clause c) {
+        int[] a = this.literals;
+        int[] b = c.literals;
+        int i = 0;
+        int j = 0;
+
+        while (i < a.length && j < b.length) {
+            int va = LiteralTable.variable(a[i]);
+            int vb = LiteralTable.variable(b[j]);
+
+            if (va < vb) {
+                i++;
+            } else if (vb < va) {
+                j++;
+            } else if (a[i] != b[j]) {
+                return a[i];
+            } else {
+                i++;
+                j++;
+            }
         }
 
-        return result;
+        return -1;
     }
 
+    /**
+     *
+     * @param c the clause to be compared with this clause.
+     * @return true, if every literal of this clause is contained in c.
+     * @throws NullPointerException if c is null.
+     */
+    public boolean subsumes(Clause c) {
+        int[] a = this.literals;
+        int[] b = c.literals;
+
+        if (a.length > b.length || (this.signature & ~c.signature) != 0) {
+            return false;
+        }
+
+        int j = 0;
+        for (int code : a) {
+            while (j < b.length && b[j] < code) {
+                j++;
+            }
+
+            if (j == b.length || b[j] != code) return false;
+            j++;
+        }
+
+        return true;
+    }
 
     /**
-     * 
+     *
      * @return true if the clause is empty.
      */
     public boolean isEmpty() {
-        return this.literals.isEmpty();
+        return this.literals.length == 0;
     }
 
     /**
-     * 
+     *
      * @param l the literal we want to check in the clause
      * @return true, if the literal is present in the clause.
      * @throws NullPointerException if the literal is null.
      */
     public boolean contains(Literal l) {
         Objects.requireNonNull(l);
-        
-        return this.literals.contains(l);
+
+        return this.contains(l.getCode());
+    }
+
+    /**
+     *
+     * @param code the code of the literal we want to check in the clause
+     * @return true, if the literal is present in the clause.
+     */
+    public boolean contains(int code) {
+        return Arrays.binarySearch(this.literals, code) >= 0;
     }
 
-    
+
     @Override
     public String toString() {
         if (this.isEmpty()) return "{}"; //the empty clause represents the contradiction.
 
-        StringBuilder res = new StringBuilder(this.literals.toString());
-        res.setCharAt(0, '{');
-        res.setCharAt(res.length() - 1, '}');
+        StringBuilder res = new StringBuilder("{");
+
+        for (int i = 0; i < this.literals.length; i++) {
+            if (i > 0) res.append(", ");
+            res.append(LiteralTable.toString(this.literals[i]));
+        }
 
-        return res.toString();
+        return res.append('}').toString();
     }
 
     private boolean equals(Clause c) {
-        return this.literals.equals(c.literals);
+        return this.hash == c.hash && Arrays.equals(this.literals, c.literals);
     }
 
     @Override
@@ -188,6 +379,6 @@ public class Clause implements Iterable<Literal> {
 
     @Override
     public int hashCode() {
-        return 1;
+        return this.hash;
     }
 }
@@ -110,13 +110,8 @@ public class ClauseSet implements Iterable<Clause> {
 
         ClauseSet result = new ClauseSet();
 
-        for (Clause c : this.clauses) {
-            result.add(c);
-        }
-
-        for (Clause c : cset.clauses) {
-            result.add(c);
-        }
+        result.clauses.addAll(this.clauses);
+        result.clauses.addAll(cset.clauses);
 
         return result;
     }
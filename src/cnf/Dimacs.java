@@ -0,0 +1,393 @@
+package cnf;
+
+import literal.LiteralTable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class without constructors reads and writes sets of clauses in the DIMACS CNF format.
+ *
+ * A DIMACS file contains a header "p cnf V C", where V is the number of variables and C the
+ * number of clauses, followed by the clauses: each clause is a list of non-zero integers
+ * terminated by 0, where the variable n is written as n and its negation as -n.
+ * The lines starting with "c" are comments.
+ *
+ * The writer numbers the atoms from 1, in order of first occurrence, and records the name
+ * of each atom in a comment "c var n name" at the end of the file. The reader gives the
+ * atom n the name recorded by such a comment, if any, and the name "x" + n otherwise.
+ * Different variables never get the same name: a file giving a name to two variables,
+ * or giving a variable the name "x" + m of an unnamed variable m, is rejected.
+ * Only the variables occurring in the clauses are interned. A file whose literals exceed
+ * the V variables of the header, or whose clauses are not the C of the header, is rejected.
+ * A name starting with "_" is the name of a new atom created by a conversion to clauses,
+ * so the atom is renamed to a new atom: the file is then equisatisfiable with the clauses
+ * of the process, even if they contain new atoms with the same names.
+ *
+ * The reader maps the file in memory, in chunks, and tokenizes the bytes directly,
+ * without creating a string for each line, so large files are loaded quickly.
+ */
+public final class Dimacs {
+
+    //STATIC FIELDS
+    private static final int CHUNK = 1 << 26; //the bytes mapped at a time
+    private static final int HEADER = 48; //the bytes reserved for the header by the writer
+
+    //CONSTRUCTORS
+    private Dimacs() {
+    }
+
+    //METHODS
+
+    /**
+     * reads a set of clauses from a DIMACS CNF file.
+     *
+     * @param file the path of the file.
+     * @return the set of the clauses of the file.
+     * @throws NullPointerException if file is null.
+     * @throws IOException if the file cannot be read, or it is not a valid DIMACS CNF file.
+     */
+    public static ClauseSet read(Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        Tokenizer t = new Tokenizer();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            for (long position = 0; position < size && !t.end; position += CHUNK) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK, size - position));
+
+                while (chunk.hasRemaining() && !t.end) {
+                    t.accept(chunk.get());
+                }
+            }
+        }
+
+        t.accept((byte) '\n');
+
+        if (!t.header) throw new IOException("the header \"p cnf\" is missing");
+        if (t.count > 0) throw new IOException("the last clause is not terminated by 0");
+
+        if (t.clauses != t.declaredClauses) {
+            throw new IOException("the header declares " + t.declaredClauses + " clauses, but the file contains " + t.clauses);
+        }
+
+        //the names are known only at the end of the file
+        Map<String, Integer> numbers = new HashMap<>(); //name -> DIMACS number
+
+        for (Map.Entry<Integer, String> e : t.names.entrySet()) {
+            Integer other = numbers.put(e.getValue(), e.getKey());
+
+            if (other != null) throw new IOException("the variables " + other + " and " + e.getKey() + " have the same name " + e.getValue());
+        }
+
+        //only the variables occurring in the clauses are interned, in order of first occurrence
+        Map<Integer, Integer> variables = new HashMap<>(); //DIMACS number -> variable number
+
+        for (int i = 0; i < t.size; i++) {
+            int n = Math.abs(t.literals[i]);
+
+            if (variables.containsKey(n)) continue;
+
+            String name = t.names.get(n);
+
+            if (name == null) {
+                name = "x" + n;
+
+                Integer other = numbers.put(name, n);
+
+                if (other != null) throw new IOException("the name " + name + " of the variable " + other + " is the name of the unnamed variable " + n);
+            }
+
+            //"_" starts the names of the new atoms of a conversion, which are renamed to atoms never seen before
+            variables.put(n, name.startsWith("_") ? LiteralTable.fresh(name + "_") : LiteralTable.intern(name));
+        }
+
+        List<Clause> res = new ArrayList<>(t.clauses);
+        int start = 0;
+
+        for (int k = 0; k < t.clauses; k++) {
+            int end = t.ends[k];
+            int[] codes = new int[end - start];
+
+            for (int i = start; i < end; i++) {
+                int lit = t.literals[i];
+                int var = variables.get(Math.abs(lit));
+                codes[i - start] = (lit > 0) ? LiteralTable.positive(var) : LiteralTable.negative(var);
+            }
+
+            res.add(Clause.of(codes));
+            start = end;
+        }
+
+        return new ClauseSet(res); //sized at once for all the clauses
+    }
+
+    /**
+     * writes a set of clauses to a DIMACS CNF file.
+     *
+     * @param s the set of clauses.
+     * @param file the path of the file, which is created or overwritten.
+     * @throws NullPointerException if s or file is null.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(ClauseSet s, Path file) throws IOException {
+        Objects.requireNonNull(s);
+
+        write(s.iterator(), file);
+    }
+
+    /**
+     * writes the clauses returned by an iterator to a DIMACS CNF file, as they are
+     * produced (e.g. by {@link formula.Formula#cnfIterator(formula.CnfTransformation)}):
+     * the header is written last, in the space reserved at the beginning of the file.
+     *
+     * @param clauses the iterator over the clauses.
+     * @param file the path of the file, which is created or overwritten.
+     * @throws NullPointerException if clauses or file is null.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Iterator<Clause> clauses, Path file) throws IOException {
+        Objects.requireNonNull(clauses);
+        Objects.requireNonNull(file);
+
+        int[] numbers = new int[LiteralTable.size()]; //variable -> DIMACS number, 0 if not numbered yet
+        int variables = 0;
+        StringBuilder names = new StringBuilder();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        byte[] line = new byte[64]; //the text of a clause
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            byte[] blank = new byte[HEADER];
+            Arrays.fill(blank, (byte) ' ');
+            blank[HEADER - 1] = '\n';
+            buffer.put(blank);
+
+            while (clauses.hasNext()) {
+                Clause c = clauses.next();
+                int length = 0;
+
+                //at most 12 bytes for each literal, and "0\n"
+                if (line.length < 12 * c.size() + 2) line = new byte[12 * c.size() + 2];
+
+                for (int i = 0; i < c.size(); i++) {
+                    int code = c.literalAt(i);
+                    int var = LiteralTable.variable(code);
+
+                    if (var >= numbers.length) numbers = Arrays.copyOf(numbers, Math.max(var + 1, 2 * numbers.length));
+
+                    if (numbers[var] == 0) {
+                        numbers[var] = ++variables;
+                        names.append("c var ").append(variables).append(' ').append(LiteralTable.getName(var)).append('\n');
+                    }
+
+                    if (LiteralTable.isNegative(code)) line[length++] = '-';
+
+                    length = digits(numbers[var], line, length);
+                    line[length++] = ' ';
+                }
+
+                line[length++] = '0';
+                line[length++] = '\n';
+                put(channel, buffer, line, length);
+                count++;
+            }
+
+            byte[] comments = names.toString().getBytes(StandardCharsets.UTF_8);
+
+            put(channel, buffer, comments, comments.length);
+            flush(channel, buffer);
+
+            //the header, padded to the reserved space
+            byte[] header = ("p cnf " + variables + " " + count).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(header, 0, blank, 0, header.length);
+            channel.write(ByteBuffer.wrap(blank), 0);
+        }
+    }
+
+    /**
+     * writes the decimal digits of a positive int into an array, without creating a string.
+     *
+     * @return the position after the last digit.
+     */
+    private static int digits(int n, byte[] a, int position) {
+        int end = position;
+
+        for (int m = n; m > 0; m /= 10) {
+            end++;
+        }
+
+        for (int i = end - 1; i >= position; i--) {
+            a[i] = (byte) ('0' + n % 10);
+            n /= 10;
+        }
+
+        return end;
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes, int length) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            if (!buffer.hasRemaining()) flush(channel, buffer);
+
+            int n = Math.min(length - offset, buffer.remaining());
+
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * the tokenizer of the reader: a state machine which receives the bytes of the file
+     * one at a time, so a token can span two chunks of the file.
+     */
+    private static final class Tokenizer {
+        boolean header; //true, once the header has been read
+        boolean end; //true, after the "%" which ends some DIMACS files
+        int clauses; //the number of complete clauses
+        int count; //the number of literals of the current clause
+        int declaredVariables; //V in the header
+        int declaredClauses; //C in the header
+        int[] literals = new int[1 << 10]; //the literals of all the clauses
+        int size; //the number of literals
+        int[] ends = new int[1 << 8]; //the end of each clause in literals
+        Map<Integer, String> names = new HashMap<>();
+
+        private boolean lineStart = true;
+        private StringBuilder line; //the text of the current comment or header line, if any
+        private boolean inNumber;
+        private boolean negative;
+        private long value;
+        private int lineNumber = 1;
+
+        void accept(byte b) throws IOException {
+            if (this.line != null) {
+                //a comment or header line
+                if (b == '\n') {
+                    this.endLine(this.line.toString().trim());
+                    this.line = null;
+                    this.lineStart = true;
+                    this.lineNumber++;
+                } else {
+                    this.line.append((char) (b & 0xff));
+                }
+
+                return;
+            }
+
+            if (b >= '0' && b <= '9') {
+                this.inNumber = true;
+                this.value = 10 * this.value + (b - '0');
+
+                if (this.value > Integer.MAX_VALUE) throw this.error("the number is too large");
+
+                this.lineStart = false;
+                return;
+            }
+
+            if (this.inNumber) {
+                this.endNumber();
+            } else if (this.negative) {
+                throw this.error("the sign '-' is not followed by a number");
+            }
+
+            if (b == '-') {
+                this.negative = true;
+            } else if (b == '\n') {
+                this.lineStart = true;
+                this.lineNumber++;
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                return;
+            } else if (this.lineStart && (b == 'c' || b == 'p')) {
+                this.line = new StringBuilder().append((char) b);
+            } else if (b == '%') {
+                this.end = true;
+            } else {
+                throw this.error("unexpected character '" + (char) (b & 0xff) + "'");
+            }
+
+            this.lineStart = (b == '\n');
+        }
+
+        private void endNumber() throws IOException {
+            int n = this.negative ? (int) -this.value : (int) this.value;
+
+            if (!this.header) throw this.error("a clause appears before the header");
+
+            this.inNumber = false;
+            this.negative = false;
+            this.value = 0;
+
+            if (n == 0) {
+                if (this.clauses == this.ends.length) this.ends = Arrays.copyOf(this.ends, 2 * this.ends.length);
+
+                this.ends[this.clauses++] = this.size;
+                this.count = 0;
+                return;
+            }
+
+            if (this.size == this.literals.length) this.literals = Arrays.copyOf(this.literals, 2 * this.literals.length);
+
+            if (Math.abs(n) > this.declaredVariables) {
+                throw this.error("the variable " + Math.abs(n) + " is greater than the " + this.declaredVariables + " variables of the header");
+            }
+
+            this.literals[this.size++] = n;
+            this.count++;
+        }
+
+        private void endLine(String text) throws IOException {
+            String[] tokens = text.split("\\s+");
+
+            if (tokens[0].equals("p")) {
+                if (this.header) throw this.error("the header is repeated");
+                if (tokens.length != 4 || !tokens[1].equals("cnf")) throw this.error("the header is not \"p cnf V C\"");
+
+                try {
+                    this.declaredVariables = Integer.parseInt(tokens[2]);
+                    this.declaredClauses = Integer.parseInt(tokens[3]);
+                } catch (NumberFormatException e) {
+                    throw this.error("the header is not \"p cnf V C\"");
+                }
+
+                if (this.declaredVariables < 0 || this.declaredClauses < 0) throw this.error("the header is not \"p cnf V C\"");
+
+                this.header = true;
+            } else if (tokens.length == 4 && tokens[0].equals("c") && tokens[1].equals("var")) {
+                try {
+                    this.names.put(Integer.parseInt(tokens[2]), tokens[3]);
+                } catch (NumberFormatException e) {
+                    //an ordinary comment
+                }
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException("line " + this.lineNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package cnf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents an occurrence index: for each literal, it keeps
+ * the list of the indexed clauses that contain that literal.
+ *
+ * Literals are identified by their codes in the {@link literal.LiteralTable},
+ * so the lists are stored in an array indexed by code, which grows as needed.
+ */
+public class OccurrenceIndex {
+
+    //FIELDS
+    private List<List<Clause>> occurrences; //code -> clauses containing the literal
+    private int size; //the number of indexed clauses
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new, empty occurrence index.
+     */
+    public OccurrenceIndex() {
+        this.occurrences = new ArrayList<>();
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a new occurrence index containing the clauses of the specified set.
+     *
+     * @param s the clause set to be indexed.
+     * @throws NullPointerException if s is null.
+     */
+    public OccurrenceIndex(ClauseSet s) {
+        this();
+
+        for (Clause c : s) {
+            this.add(c);
+        }
+    }
+
+    //METHODS
+
+    /**
+     * adds a clause to the index, under each of its literals.
+     *
+     * @param c the clause to be indexed.
+     * @throws NullPointerException if c is null.
+     */
+    public void add(Clause c) {
+        Objects.requireNonNull(c);
+
+        for (int i = 0; i < c.size(); i++) {
+            int code = c.literalAt(i);
+
+            while (this.occurrences.size() <= code) {
+                this.occurrences.add(new ArrayList<>());
+            }
+
+            this.occurrences.get(code).add(c);
+        }
+
+        this.size++;
+    }
+
+    /**
+     * removes a clause from the index.
+     * if the clause is not indexed, it does nothing.
+     *
+     * @param c the clause to be removed.
+     * @return true, if the clause was indexed.
+     * @throws NullPointerException if c is null.
+     */
+    public boolean remove(Clause c) {
+        Objects.requireNonNull(c);
+
+        boolean found = false;
+
+        for (int i = 0; i < c.size(); i++) {
+            int code = c.literalAt(i);
+
+            if (code < this.occurrences.size()) {
+                found |= this.occurrences.get(code).remove(c);
+            }
+        }
+
+        if (found) this.size--;
+
+        return found;
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the unmodifiable list of the indexed clauses containing the literal.
+     */
+    public List<Clause> get(int code) {
+        if (code >= this.occurrences.size()) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(this.occurrences.get(code));
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the number of indexed clauses containing the literal.
+     */
+    public int count(int code) {
+        return (code < this.occurrences.size()) ? this.occurrences.get(code).size() : 0;
+    }
+
+    /**
+     * @return the number of indexed clauses.
+     */
+    public int size() {
+        return this.size;
+    }
+}
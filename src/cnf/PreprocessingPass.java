@@ -0,0 +1,20 @@
+package cnf;
+
+/**
+ * This enumeration represents the simplification passes applied
+ * to a clause set by the {@link Preprocessor}, in the order in which they run.
+ */
+public enum PreprocessingPass {
+    TAUTOLOGIES,        //removes the clauses containing a literal and its opposite
+    UNIT_PROPAGATION,   //propagates the unit clauses
+    PURE_LITERALS,      //removes the clauses containing a literal whose opposite never occurs
+    SUBSUMPTION,        //removes the clauses subsumed by another clause
+    SELF_SUBSUMPTION,   //replaces a clause by its resolvent with another clause, when the resolvent subsumes it
+    VARIABLE_ELIMINATION; //replaces the clauses of an atom by their resolvents on it, when they are not more
+
+
+    @Override
+    public String toString() {
+        return this.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,508 @@
+package cnf;
+
+import literal.Literal;
+import literal.LiteralTable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class represents a pipeline of simplification passes on a clause set
+ * (see {@link PreprocessingPass}), applied before a satisfiability check.
+ *
+ * The enabled passes run in order, and the whole pipeline is repeated until a round
+ * leaves the set unchanged. Every pass preserves the satisfiability of the set.
+ * The unit propagation, the pure literal elimination and the variable elimination do not
+ * preserve its models, so they record the clauses they remove: a model of the simplified
+ * set can be extended to a model of the set in input (see {@link #extendModel(List)}).
+ * Duplicate clauses never need a pass of their own, because a ClauseSet hashes its
+ * clauses by content and merges them as they are added.
+ *
+ * For each pass the preprocessor records the time spent and the number of clauses
+ * removed or shortened, so that the passes can be compared.
+ */
+public class Preprocessor {
+
+    //FIELDS
+    private Set<PreprocessingPass> enabled;
+    private Map<PreprocessingPass, Long> time; //pass -> nanoseconds spent in the last call of apply
+    private Map<PreprocessingPass, Integer> changes; //pass -> clauses removed or shortened in the last call
+    private int rounds;
+    private boolean conflict;
+    private List<Integer> variables; //the variables of the set in input of the last call of apply
+    private List<Integer> witnesses; //the literals made true, if needed, by extendModel
+    private List<List<Clause>> removed; //the clauses removed with each witness
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new preprocessor with all the passes enabled, except the variable
+     * elimination, which changes the atoms of the set.
+     */
+    public Preprocessor() {
+        this.enabled = EnumSet.allOf(PreprocessingPass.class);
+        this.enabled.remove(PreprocessingPass.VARIABLE_ELIMINATION);
+        this.time = new EnumMap<>(PreprocessingPass.class);
+        this.changes = new EnumMap<>(PreprocessingPass.class);
+        this.variables = new ArrayList<>();
+        this.witnesses = new ArrayList<>();
+        this.removed = new ArrayList<>();
+    }
+
+    //METHODS
+
+    /**
+     * enables or disables a pass of the pipeline.
+     *
+     * @param pass the pass.
+     * @param value true to enable the pass, false to disable it.
+     * @throws NullPointerException if pass is null.
+     */
+    public void setEnabled(PreprocessingPass pass, boolean value) {
+        Objects.requireNonNull(pass);
+
+        if (value) {
+            this.enabled.add(pass);
+        } else {
+            this.enabled.remove(pass);
+        }
+    }
+
+    /**
+     * @param pass a pass.
+     * @return true, if the pass is enabled.
+     */
+    public boolean isEnabled(PreprocessingPass pass) {
+        return this.enabled.contains(pass);
+    }
+
+    /**
+     * @return the unmodifiable set of the enabled passes.
+     */
+    public Set<PreprocessingPass> getEnabled() {
+        return Collections.unmodifiableSet(this.enabled);
+    }
+
+    /**
+     * applies the enabled passes to the specified set, until a fixpoint is reached.
+     * the set is simplified in place. if a conflict is found, the simplification stops.
+     *
+     * @param s the clause set to be simplified.
+     * @return false, if a conflict has been found, so s is unsatisfiable. true otherwise.
+     * @throws NullPointerException if s is null.
+     */
+    public boolean apply(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        this.time.clear();
+        this.changes.clear();
+        this.rounds = 0;
+        this.conflict = false;
+        this.variables = new ArrayList<>();
+        this.witnesses = new ArrayList<>();
+        this.removed = new ArrayList<>();
+
+        Set<Integer> found = new HashSet<>();
+
+        for (Clause c : s) {
+            for (int i = 0; i < c.size(); i++) {
+                int var = LiteralTable.variable(c.literalAt(i));
+
+                if (found.add(var)) this.variables.add(var);
+            }
+        }
+
+        for (PreprocessingPass pass : this.enabled) {
+            this.time.put(pass, 0L);
+            this.changes.put(pass, 0);
+        }
+
+        boolean changed = true;
+
+        while (changed && !this.conflict && !s.isEmpty()) {
+            changed = false;
+            this.rounds++;
+
+            for (PreprocessingPass pass : this.enabled) {
+                long start = System.nanoTime();
+                int n = this.run(pass, s);
+
+                this.time.merge(pass, System.nanoTime() - start, Long::sum);
+                this.changes.merge(pass, n, Integer::sum);
+
+                if (this.conflict) break;
+                if (n > 0) changed = true;
+            }
+        }
+
+        return !this.conflict;
+    }
+
+    /**
+     * extends a model of the set simplified by the last call of apply to a model of the set
+     * in input. the atoms removed by the unit propagation, the pure literal elimination and
+     * the variable elimination are assigned in reverse order of removal, each one false unless
+     * a clause removed with it needs it to be true: the clauses removed with an atom only
+     * contain atoms removed after it, or still in the simplified set.
+     * the other passes do not change the models of the set.
+     *
+     * @param model the literals true in a model of the simplified set, one for each of its atoms.
+     * @return the unmodifiable list of the literals true in a model of the set in input,
+     *         one for each of its atoms.
+     * @throws NullPointerException if model is null.
+     */
+    public List<Literal> extendModel(List<Literal> model) {
+        Objects.requireNonNull(model);
+
+        Set<Integer> trueVariables = new HashSet<>();
+
+        for (Literal l : model) {
+            if (!LiteralTable.isNegative(l.getCode())) trueVariables.add(LiteralTable.variable(l.getCode()));
+        }
+
+        for (int k = this.witnesses.size() - 1; k >= 0; k--) {
+            int witness = this.witnesses.get(k);
+            int var = LiteralTable.variable(witness);
+            boolean value = LiteralTable.isNegative(witness); //the witness is false
+
+            for (Clause c : this.removed.get(k)) {
+                if (c.contains(witness) && !isTrue(c, trueVariables, var)) {
+                    value = !value;
+                    break;
+                }
+            }
+
+            if (value) {
+                trueVariables.add(var);
+            } else {
+                trueVariables.remove(var);
+            }
+        }
+
+        List<Literal> res = new ArrayList<>(this.variables.size());
+
+        for (int var : this.variables) {
+            res.add(LiteralTable.toLiteral(trueVariables.contains(var) ? LiteralTable.positive(var) : LiteralTable.negative(var)));
+        }
+
+        return Collections.unmodifiableList(res);
+    }
+
+    /**
+     * @return true, if a literal of the clause, on a variable other than skipVar, is true.
+     */
+    private static boolean isTrue(Clause c, Set<Integer> trueVariables, int skipVar) {
+        for (int i = 0; i < c.size(); i++) {
+            int code = c.literalAt(i);
+            int var = LiteralTable.variable(code);
+
+            if (var != skipVar && trueVariables.contains(var) != LiteralTable.isNegative(code)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true, if the last call of apply found a conflict.
+     */
+    public boolean isConflict() {
+        return this.conflict;
+    }
+
+    /**
+     * @return the number of rounds of the pipeline performed by the last call of apply.
+     */
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * @param pass a pass.
+     * @return the nanoseconds spent in the pass by the last call of apply.
+     */
+    public long getTime(PreprocessingPass pass) {
+        return this.time.getOrDefault(pass, 0L);
+    }
+
+    /**
+     * @param pass a pass.
+     * @return the number of clauses removed or shortened by the pass in the last call of apply.
+     */
+    public int getChanges(PreprocessingPass pass) {
+        return this.changes.getOrDefault(pass, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        res.append("preprocessing: " + this.rounds + " rounds" + (this.conflict ? ", conflict found" : "") + "\n");
+
+        for (PreprocessingPass pass : this.enabled) {
+            res.append(String.format("  %-20s %8d clauses %10.3f ms%n", pass,
+                this.getChanges(pass), this.getTime(pass) / 1e6));
+        }
+
+        return res.toString();
+    }
+
+    /**
+     * runs a single pass on the set.
+     *
+     * @return the number of clauses removed or shortened.
+     */
+    private int run(PreprocessingPass pass, ClauseSet s) {
+        switch (pass) {
+            case TAUTOLOGIES:
+                int before = s.size();
+                s.removeTautologies();
+                return before - s.size();
+            case UNIT_PROPAGATION:
+                UnitPropagation up = UnitPropagation.apply(s);
+                this.conflict = up.isConflict();
+
+                //the clauses removed are true when the units are true
+                for (int code : up.getUnits()) {
+                    this.record(code, Collections.singletonList(Clause.of(code)));
+                }
+
+                return up.getRemovedCount() + up.getStrengthened().size();
+            case PURE_LITERALS:
+                return this.removePureLiterals(s);
+            case SUBSUMPTION:
+                return removeSubsumed(s);
+            case SELF_SUBSUMPTION:
+                int n = strengthen(s);
+                this.conflict = s.contains(new Clause()); //a unit clause can shorten a clause to the empty one
+                return n;
+            case VARIABLE_ELIMINATION:
+                return this.eliminateVariables(s);
+        }
+
+        throw new Error("An error occurred while executing the program");
+    }
+
+    /**
+     * removes the clauses containing a pure literal, i.e. a literal whose opposite
+     * does not occur in the set. removing them can make other literals pure,
+     * so the removal is repeated through a work list.
+     */
+    private int removePureLiterals(ClauseSet s) {
+        OccurrenceIndex occurrences = new OccurrenceIndex(s);
+        Deque<Integer> candidates = new ArrayDeque<>();
+        int removed = 0;
+
+        for (Clause c : s) {
+            for (int i = 0; i < c.size(); i++) {
+                candidates.add(c.literalAt(i));
+            }
+        }
+
+        while (!candidates.isEmpty()) {
+            int code = candidates.poll();
+
+            if (occurrences.count(code) == 0 || occurrences.count(LiteralTable.opposite(code)) > 0) {
+                continue;
+            }
+
+            List<Clause> clauses = new ArrayList<>(occurrences.get(code));
+
+            this.record(code, clauses);
+
+            for (Clause c : clauses) {
+                occurrences.remove(c);
+                s.remove(c);
+                removed++;
+
+                //the opposites of the other literals of c may have become pure
+                for (int i = 0; i < c.size(); i++) {
+                    candidates.add(LiteralTable.opposite(c.literalAt(i)));
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * removes the clauses subsumed by another clause of the set.
+     * the clauses are indexed from the shortest, so each clause is only compared
+     * with the clauses that could subsume it.
+     */
+    private static int removeSubsumed(ClauseSet s) {
+        List<Clause> clauses = new ArrayList<>();
+        for (Clause c : s) clauses.add(c);
+        clauses.sort(Comparator.comparingInt(Clause::size));
+
+        SubsumptionIndex index = new SubsumptionIndex();
+        int removed = 0;
+
+        for (Clause c : clauses) {
+            if (index.findSubsumer(c) != null) {
+                s.remove(c);
+                removed++;
+            } else {
+                index.add(c);
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * self-subsuming resolution: if a clause D contains a literal x and D - {x}
+     * is contained in a clause C which contains ~x, the resolvent of C and D is
+     * C - {~x}, which subsumes C, so C is replaced by the resolvent.
+     * the shortened clauses are checked again, through a work list.
+     */
+    private static int strengthen(ClauseSet s) {
+        OccurrenceIndex occurrences = new OccurrenceIndex(s);
+        Deque<Clause> queue = new ArrayDeque<>();
+        int strengthened = 0;
+
+        for (Clause c : s) queue.add(c);
+
+        while (!queue.isEmpty()) {
+            Clause d = queue.poll();
+
+            //skips the clauses replaced in the meantime, and the tautologies,
+            //for which the resolvent is not the clause without the literal
+            if (!s.contains(d) || d.isTautology()) continue;
+
+            for (int i = 0; i < d.size(); i++) {
+                int x = d.literalAt(i);
+                int[] flipped = d.toArray();
+                flipped[i] = LiteralTable.opposite(x);
+                Clause pattern = Clause.of(flipped); //D with x replaced by ~x
+
+                for (Clause c : new ArrayList<>(occurrences.get(LiteralTable.opposite(x)))) {
+                    if (c.isTautology() || !pattern.subsumes(c)) continue;
+
+                    Clause shorter = c.resolve(d, x);
+
+                    occurrences.remove(c);
+                    s.remove(c);
+                    strengthened++;
+
+                    if (!s.contains(shorter)) {
+                        s.add(shorter);
+                        occurrences.add(shorter);
+                        queue.add(shorter);
+                    }
+                }
+            }
+        }
+
+        return strengthened;
+    }
+
+    /**
+     * bounded variable elimination: the clauses containing an atom are replaced by all their
+     * resolvents on that atom, if the resolvents which are not tautologies are not more than
+     * the clauses, so the set does not grow. the atoms are tried from the lowest product of
+     * positive and negative occurrences, through a priority queue whose entries are added
+     * again when the occurrences of an atom change; the outdated entries are skipped.
+     *
+     * @return the number of clauses removed.
+     */
+    private int eliminateVariables(ClauseSet s) {
+        OccurrenceIndex occurrences = new OccurrenceIndex(s);
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int count = 0;
+
+        for (int var : this.variables) {
+            schedule(queue, occurrences, var);
+        }
+
+        while (!queue.isEmpty() && !this.conflict) {
+            long[] next = queue.poll();
+            int var = (int) next[1];
+            int pos = LiteralTable.positive(var);
+            int neg = LiteralTable.negative(var);
+
+            if (next[0] != (long) occurrences.count(pos) * occurrences.count(neg)) continue;
+            if (occurrences.count(pos) + occurrences.count(neg) == 0) continue;
+
+            //the tautologies are removed with the atom, but not resolved
+            List<Clause> positives = new ArrayList<>();
+            List<Clause> negatives = new ArrayList<>();
+            Set<Clause> clauses = new LinkedHashSet<>(occurrences.get(pos));
+
+            clauses.addAll(occurrences.get(neg));
+
+            for (Clause c : clauses) {
+                if (!c.isTautology()) {
+                    (c.contains(pos) ? positives : negatives).add(c);
+                }
+            }
+
+            List<Clause> resolvents = new ArrayList<>();
+            int limit = positives.size() + negatives.size();
+
+            for (int i = 0; i < positives.size() && resolvents.size() <= limit; i++) {
+                for (int j = 0; j < negatives.size() && resolvents.size() <= limit; j++) {
+                    Clause r = positives.get(i).resolve(negatives.get(j), pos);
+
+                    if (!r.isTautology()) resolvents.add(r);
+                }
+            }
+
+            if (resolvents.size() > limit) continue;
+
+            this.record(pos, new ArrayList<>(clauses));
+
+            for (Clause c : clauses) {
+                occurrences.remove(c);
+                s.remove(c);
+                count++;
+            }
+
+            for (Clause r : resolvents) {
+                if (r.isEmpty()) this.conflict = true;
+
+                if (!s.contains(r)) {
+                    s.add(r);
+                    occurrences.add(r);
+                }
+            }
+
+            //the atoms of the removed clauses and of the resolvents have different occurrences
+            for (Clause c : clauses) {
+                for (int i = 0; i < c.size(); i++) {
+                    schedule(queue, occurrences, LiteralTable.variable(c.literalAt(i)));
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * adds to the queue the current product of the occurrences of a variable, if it occurs in the set.
+     */
+    private static void schedule(PriorityQueue<long[]> queue, OccurrenceIndex occurrences, int var) {
+        long pos = occurrences.count(LiteralTable.positive(var));
+        long neg = occurrences.count(LiteralTable.negative(var));
+
+        if (pos + neg > 0) queue.add(new long[] { pos * neg, var });
+    }
+
+    /**
+     * records the clauses removed with a literal, for extendModel.
+     */
+    private void record(int witness, List<Clause> clauses) {
+        this.witnesses.add(witness);
+        this.removed.add(clauses);
+    }
+}
@@ -0,0 +1,172 @@
+package cnf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class represents an index of clauses used to check subsumption:
+ * a clause D subsumes a clause C if every literal of D is contained in C.
+ *
+ * Every indexed clause D is watched on exactly one of its literals, the one with
+ * the shortest watch list when D is added. Since a subsumer of C contains only
+ * literals of C, to find it we only need to visit the watch lists of the literals
+ * of C, and every candidate is first compared through its size and its signature
+ * (see {@link Clause#getSignature()}) before the literals are compared.
+ *
+ * All the indexed clauses are also kept in an {@link OccurrenceIndex}, to find the
+ * clauses subsumed by a given clause C: they all contain the literal of C with the
+ * fewest occurrences, so only the clauses in that occurrence list are compared with C.
+ */
+public class SubsumptionIndex {
+
+    //FIELDS
+    private List<List<Clause>> watches; //code -> clauses watched on that literal
+    private Map<Clause, Integer> watched; //clause -> the code of its watched literal
+    private OccurrenceIndex occurrences; //the non-empty indexed clauses
+    private Clause empty; //the empty clause, if it is indexed
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new, empty subsumption index.
+     */
+    public SubsumptionIndex() {
+        this.watches = new ArrayList<>();
+        this.watched = new HashMap<>();
+        this.occurrences = new OccurrenceIndex();
+        this.empty = null;
+    }
+
+    //METHODS
+
+    /**
+     * adds a clause to the index.
+     * if the clause is already indexed, it does nothing.
+     *
+     * @param c the clause to be indexed.
+     * @throws NullPointerException if c is null.
+     */
+    public void add(Clause c) {
+        Objects.requireNonNull(c);
+
+        if (c.isEmpty()) {
+            this.empty = c;
+            return;
+        }
+
+        if (this.watched.containsKey(c)) return;
+
+        int best = c.literalAt(0);
+
+        for (int i = 1; i < c.size(); i++) {
+            if (this.watchCount(c.literalAt(i)) < this.watchCount(best)) {
+                best = c.literalAt(i);
+            }
+        }
+
+        while (this.watches.size() <= best) {
+            this.watches.add(new ArrayList<>());
+        }
+
+        this.watches.get(best).add(c);
+        this.watched.put(c, best);
+        this.occurrences.add(c);
+    }
+
+    /**
+     * removes a clause from the index.
+     * if the clause is not indexed, it does nothing.
+     *
+     * @param c the clause to be removed.
+     * @return true, if the clause was indexed.
+     * @throws NullPointerException if c is null.
+     */
+    public boolean remove(Clause c) {
+        Objects.requireNonNull(c);
+
+        if (c.isEmpty()) {
+            boolean found = (this.empty != null);
+            this.empty = null;
+            return found;
+        }
+
+        Integer code = this.watched.remove(c);
+
+        if (code == null) return false;
+
+        this.occurrences.remove(c);
+
+        return this.watches.get(code).remove(c);
+    }
+
+    /**
+     * @param c a clause.
+     * @return an indexed clause that subsumes c (possibly a clause equal to c).
+     *         null, if no indexed clause subsumes c.
+     * @throws NullPointerException if c is null.
+     */
+    public Clause findSubsumer(Clause c) {
+        Objects.requireNonNull(c);
+
+        if (this.empty != null) return this.empty;
+
+        for (int i = 0; i < c.size(); i++) {
+            int code = c.literalAt(i);
+
+            if (code < this.watches.size()) {
+                for (Clause d : this.watches.get(code)) {
+                    if (d.subsumes(c)) return d;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param c a clause.
+     * @return the list of the indexed clauses, different from c, that are subsumed by c.
+     * @throws NullPointerException if c is null.
+     */
+    public List<Clause> findSubsumed(Clause c) {
+        Objects.requireNonNull(c);
+
+        List<Clause> result = new ArrayList<>();
+
+        if (c.isEmpty()) {
+            //the empty clause subsumes every other clause
+            result.addAll(this.watched.keySet());
+            return result;
+        }
+
+        int rarest = c.literalAt(0);
+
+        for (int i = 1; i < c.size(); i++) {
+            if (this.occurrences.count(c.literalAt(i)) < this.occurrences.count(rarest)) {
+                rarest = c.literalAt(i);
+            }
+        }
+
+        for (Clause d : this.occurrences.get(rarest)) {
+            if (d.size() > c.size() && c.subsumes(d)) {
+                result.add(d);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of indexed clauses.
+     */
+    public int size() {
+        return this.watched.size() + ((this.empty != null) ? 1 : 0);
+    }
+
+    private int watchCount(int code) {
+        return (code < this.watches.size()) ? this.watches.get(code).size() : 0;
+    }
+}
@@ -0,0 +1,247 @@
+package cnf;
+
+import literal.LiteralTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements unit propagation on a set of clauses.
+ *
+ * The literal of each unit clause is assumed to be true: the clauses containing it
+ * are deleted, and its opposite is deleted from the other clauses. The clauses that
+ * become unit clauses are propagated in turn, until no unit clause is left.
+ * If a clause loses all its literals, the set is unsatisfiable (a conflict).
+ *
+ * The propagation uses occurrence lists and, for each clause, the number of literals
+ * that are not yet false, so every literal occurrence is visited a constant number of times.
+ * The result of the propagation is an object of this class, which reports what happened.
+ */
+public class UnitPropagation {
+
+    //FIELDS
+    private boolean conflict;
+    private int removed; //the number of clauses deleted from the set
+    private List<Clause> strengthened; //the shortened clauses added to the set
+    private List<Integer> units; //the codes of the literals assumed to be true
+
+    //CONSTRUCTORS
+    private UnitPropagation() {
+        this.conflict = false;
+        this.removed = 0;
+        this.strengthened = new ArrayList<>();
+        this.units = new ArrayList<>();
+    }
+
+    //METHODS
+
+    /**
+     * applies unit propagation to the specified set of clauses.
+     * the set is simplified in place, unless a conflict is found:
+     * in that case it is left unchanged.
+     *
+     * @param s the set of clauses to be simplified.
+     * @return the result of the propagation.
+     * @throws NullPointerException if s is null.
+     */
+    public static UnitPropagation apply(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        UnitPropagation result = new UnitPropagation();
+        List<Clause> clauses = new ArrayList<>();
+        Map<Integer, Integer> local = new HashMap<>(); //variable -> local atom
+        List<Integer> variables = new ArrayList<>(); //local atom -> variable
+
+        for (Clause c : s) {
+            clauses.add(c);
+        }
+
+        /*
+         * the atoms of the set are numbered from 0, so the arrays are sized
+         * by the atoms of the set and not by the whole literal table:
+         * the local code of a literal is 2 * atom, plus 1 if it is negative.
+         */
+        int[][] lits = new int[clauses.size()][];
+
+        for (int id = 0; id < clauses.size(); id++) {
+            Clause c = clauses.get(id);
+            lits[id] = new int[c.size()];
+
+            for (int i = 0; i < c.size(); i++) {
+                int code = c.literalAt(i);
+                Integer atom = local.get(LiteralTable.variable(code));
+
+                if (atom == null) {
+                    atom = variables.size();
+                    local.put(LiteralTable.variable(code), atom);
+                    variables.add(LiteralTable.variable(code));
+                }
+
+                lits[id][i] = 2 * atom + (LiteralTable.isNegative(code) ? 1 : 0);
+            }
+        }
+
+        int literals = 2 * variables.size();
+
+        //occurrence lists, stored as arrays of clause ids
+        int[] count = new int[literals];
+        for (int[] c : lits) {
+            for (int l : c) count[l]++;
+        }
+
+        int[][] occurrences = new int[literals][];
+        for (int l = 0; l < literals; l++) {
+            occurrences[l] = new int[count[l]];
+            count[l] = 0;
+        }
+
+        int[] open = new int[clauses.size()]; //the number of literals not yet false
+        boolean[] satisfied = new boolean[clauses.size()];
+        boolean[] value = new boolean[literals]; //value[l] is true if the literal is assumed true
+        boolean[] falsified = new boolean[literals]; //the opposite has already been propagated
+        int[] queue = new int[variables.size()];
+        int head = 0;
+        int tail = 0;
+
+        for (int id = 0; id < clauses.size(); id++) {
+            open[id] = lits[id].length;
+
+            for (int l : lits[id]) {
+                occurrences[l][count[l]++] = id;
+            }
+
+            if (lits[id].length == 0) {
+                result.conflict = true;
+                return result;
+            }
+        }
+
+        for (int[] c : lits) {
+            if (c.length == 1) {
+                int l = c[0];
+
+                if (value[l ^ 1]) {
+                    result.conflict = true;
+                    return result;
+                }
+
+                if (!value[l]) {
+                    value[l] = true;
+                    queue[tail++] = l;
+                }
+            }
+        }
+
+        while (head < tail) {
+            int l = queue[head++];
+            int opp = l ^ 1;
+            int variable = variables.get(l >> 1);
+
+            result.units.add((l & 1) == 0 ? LiteralTable.positive(variable) : LiteralTable.negative(variable));
+            falsified[opp] = true;
+
+            for (int id : occurrences[l]) {
+                satisfied[id] = true;
+            }
+
+            for (int id : occurrences[opp]) {
+                if (satisfied[id]) continue;
+
+                open[id]--;
+
+                if (open[id] == 0) {
+                    result.conflict = true;
+                    return result;
+                }
+
+                if (open[id] == 1) {
+                    //the clause is now a unit clause: finds its last literal not yet false
+                    int unit = -1;
+
+                    for (int i = 0; i < lits[id].length && unit < 0; i++) {
+                        if (!falsified[lits[id][i]]) unit = lits[id][i];
+                    }
+
+                    if (value[unit ^ 1]) {
+                        result.conflict = true;
+                        return result;
+                    }
+
+                    if (!value[unit]) {
+                        value[unit] = true;
+                        queue[tail++] = unit;
+                    }
+                }
+            }
+        }
+
+        //no conflict: simplifies the set
+        for (int id = 0; id < clauses.size(); id++) {
+            Clause c = clauses.get(id);
+
+            if (satisfied[id]) {
+                s.remove(c);
+                result.removed++;
+            } else if (open[id] < c.size()) {
+                int[] kept = new int[open[id]];
+                int n = 0;
+
+                for (int i = 0; i < c.size(); i++) {
+                    if (!falsified[lits[id][i]]) kept[n++] = c.literalAt(i);
+                }
+
+                Clause shorter = Clause.of(kept);
+
+                s.remove(c);
+                s.add(shorter);
+                result.strengthened.add(shorter);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return true, if the propagation derived the empty clause,
+     *         so the set of clauses is unsatisfiable.
+     */
+    public boolean isConflict() {
+        return this.conflict;
+    }
+
+    /**
+     * @return the number of clauses deleted from the set because they contain a true literal.
+     */
+    public int getRemovedCount() {
+        return this.removed;
+    }
+
+    /**
+     * @return the unmodifiable list of the clauses that replaced a clause of the set,
+     *         after the deletion of their false literals.
+     */
+    public List<Clause> getStrengthened() {
+        return Collections.unmodifiableList(this.strengthened);
+    }
+
+    /**
+     * @return the unmodifiable list of the codes of the literals assumed to be true,
+     *         in order of propagation.
+     */
+    public List<Integer> getUnits() {
+        return Collections.unmodifiableList(this.units);
+    }
+
+    @Override
+    public String toString() {
+        if (this.conflict) {
+            return "unit propagation found a conflict after " + this.units.size() + " units";
+        }
+
+        return "unit propagation of " + this.units.size() + " units removed " + this.removed
+            + " clauses and shortened " + this.strengthened.size() + " clauses";
+    }
+}
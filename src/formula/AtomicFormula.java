@@ -1,7 +1,6 @@
 package formula;
 
 import literal.*;
-import cnf.*;
 
 /**
  * This class represents an atomic formula. An atomic formula 
@@ -46,13 +45,12 @@ public class AtomicFormula extends Formula {
     }
 
     @Override
-    public String toString() {
-        return this.getName();
+    public int hashCode() {
+        return this.atm.hashCode();
     }
 
-
     @Override
-    public ClauseSet toCnf() {
-        return new ClauseSet(new Clause(atm));
+    public String toString() {
+        return this.getName();
     }
 }
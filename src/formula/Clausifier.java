@@ -0,0 +1,411 @@
+package formula;
+
+import cnf.Clause;
+import cnf.ClauseSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * this class converts the negation normal form of a formula (see {@link NnfGraph})
+ * into an equivalent set of clauses (the EXHAUSTIVE transformation).
+ *
+ * Nested nodes with the same connective are merged into a single n-ary node: a child
+ * with the same kind of its parent is merged into it, if the parent is its only parent.
+ * The merged nodes are collected with an explicit stack, and the other nodes are
+ * processed in increasing order, so no step is recursive.
+ *
+ * The clause set of an n-ary AND is the union of the clause sets of its operands,
+ * and the clause set of an n-ary OR contains a clause for each way of choosing a clause
+ * from every operand. The clause set of a node is released as soon as all its parents
+ * have been processed.
+ *
+ * With a {@link CnfCache}, the clauses of the nodes representing a subformula are looked up
+ * before the conversion, from the root down, so the subformulas below a node found in the
+ * cache are not visited, and the clauses of the converted nodes are stored in the cache.
+ *
+ * The clauses can also be enumerated one at a time (see {@link #iterator(CnfCache)}),
+ * so the product of an OR is never stored: only the position in the product is.
+ */
+final class Clausifier {
+
+    //FIELDS
+    private final NnfGraph graph;
+    private final boolean[] merged; //true, if the node is merged into its parent
+
+    //CONSTRUCTORS
+    Clausifier(NnfGraph graph) {
+        this.graph = Objects.requireNonNull(graph);
+        this.merged = new boolean[graph.size()];
+
+        for (int node = 0; node < graph.size(); node++) {
+            if (graph.getKind(node) == NnfGraph.LITERAL) continue;
+
+            this.merge(node, graph.getLeft(node));
+            this.merge(node, graph.getRight(node));
+        }
+    }
+
+    //METHODS
+
+    /**
+     * @return the number of clauses of the result of {@link #clausify()}, before
+     *         removing duplicates. the count saturates at Long.MAX_VALUE.
+     */
+    long count() {
+        long[] count = new long[this.graph.size()];
+
+        for (int node = 0; node < this.graph.size(); node++) {
+            switch (this.graph.getKind(node)) {
+                case NnfGraph.LITERAL:
+                    count[node] = 1;
+                    break;
+                case NnfGraph.AND:
+                    long sum = count[this.graph.getLeft(node)] + count[this.graph.getRight(node)];
+                    count[node] = (sum < 0) ? Long.MAX_VALUE : sum;
+                    break;
+                default:
+                    long a = count[this.graph.getLeft(node)];
+                    long b = count[this.graph.getRight(node)];
+                    count[node] = (a > Long.MAX_VALUE / b) ? Long.MAX_VALUE : a * b;
+            }
+        }
+
+        return count[this.graph.getRoot()];
+    }
+
+    private void merge(int parent, int child) {
+        if (this.graph.getKind(child) == this.graph.getKind(parent) && this.graph.getParents(child) == 1) {
+            this.merged[child] = true;
+        }
+    }
+
+    /**
+     * @param node an AND or OR node.
+     * @return the operands of the n-ary node, i.e. its children after replacing
+     *         each merged child with its own operands.
+     */
+    private List<Integer> operands(int node) {
+        List<Integer> res = new ArrayList<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+
+        stack.push(this.graph.getRight(node));
+        stack.push(this.graph.getLeft(node));
+
+        while (!stack.isEmpty()) {
+            int n = stack.pop();
+
+            if (this.merged[n]) {
+                stack.push(this.graph.getRight(n));
+                stack.push(this.graph.getLeft(n));
+            } else {
+                res.add(n);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @param cache the cache of the CNF of the subformulas, or null to convert every node.
+     * @return the set of clauses equivalent to the formula of the graph.
+     */
+    ClauseSet clausify(CnfCache cache) {
+        int n = this.graph.size();
+        int root = this.graph.getRoot();
+        List<List<Clause>> cnf = new ArrayList<>(Collections.nCopies(n, (List<Clause>) null));
+        List<List<Integer>> operands = new ArrayList<>(Collections.nCopies(n, (List<Integer>) null));
+        boolean[] needed = new boolean[n];
+        int[] uses = new int[n]; //the uses left, after which cnf of the node is released
+
+        //from the root down, finds the nodes to be converted: the operands
+        //of the nodes whose CNF is found in the cache are not needed
+        needed[root] = true;
+
+        for (int node = n - 1; node >= 0; node--) {
+            if (!needed[node] || this.graph.getKind(node) == NnfGraph.LITERAL) continue;
+
+            Formula f = this.graph.getFormula(node);
+
+            if (cache != null && f != null) {
+                cnf.set(node, cache.get(f, this.graph.isNegated(node)));
+                if (cnf.get(node) != null) continue;
+            }
+
+            operands.set(node, this.operands(node));
+
+            for (int op : operands.get(node)) {
+                needed[op] = true;
+                uses[op]++;
+            }
+        }
+
+        //from the leaves up, converts the needed nodes
+        for (int node = 0; node < n; node++) {
+            if (!needed[node] || cnf.get(node) != null) continue;
+
+            if (this.graph.getKind(node) == NnfGraph.LITERAL) {
+                cnf.set(node, Collections.singletonList(Clause.of(this.graph.getLiteral(node))));
+                continue;
+            }
+
+            List<List<Clause>> sets = new ArrayList<>();
+
+            for (int op : operands.get(node)) {
+                sets.add(cnf.get(op));
+
+                if (--uses[op] == 0) cnf.set(op, null);
+            }
+
+            List<Clause> clauses = (this.graph.getKind(node) == NnfGraph.AND) ? union(sets) : product(sets);
+            Formula f = this.graph.getFormula(node);
+
+            if (cache != null && f != null) {
+                cache.put(f, this.graph.isNegated(node), clauses);
+            }
+
+            cnf.set(node, clauses);
+        }
+
+        return new ClauseSet(cnf.get(root));
+    }
+
+    /**
+     * the position of the enumeration in the clauses of an occurrence of a node.
+     * a node with a list of clauses (a literal, or a node found in the cache) is at
+     * a clause of the list; an AND node is at a clause of one of its operands;
+     * an OR node is at a clause of each of its operands.
+     */
+    private static final class Cursor {
+        final int node;
+        List<Clause> list; //the clauses of the node, if they are known
+        List<Integer> operands; //the operands of an AND or OR node
+        int index; //the current clause of the list, or the current operand of an AND node
+        Cursor[] children; //the cursor of the current operand of an AND node, or of each operand of an OR node
+        int scan = -1; //the child being advanced, during a call of advance
+
+        Cursor(int node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * @param cache the cache of the CNF of the subformulas, or null.
+     * @return an iterator over the clauses equivalent to the formula of the graph.
+     *         the clauses are produced one at a time, without building the clause
+     *         sets of the nodes, so a clause can be returned more than once.
+     */
+    Iterator<Clause> iterator(CnfCache cache) {
+        List<List<Clause>> known = new ArrayList<>(Collections.nCopies(this.graph.size(), (List<Clause>) null));
+
+        for (int node = 0; node < this.graph.size(); node++) {
+            Formula f = this.graph.getFormula(node);
+
+            if (this.graph.getKind(node) == NnfGraph.LITERAL) {
+                known.set(node, Collections.singletonList(Clause.of(this.graph.getLiteral(node))));
+            } else if (cache != null && f != null && !this.merged[node]) {
+                known.set(node, cache.get(f, this.graph.isNegated(node)));
+            }
+        }
+
+        Cursor root = this.first(this.graph.getRoot(), known);
+
+        return new Iterator<Clause>() {
+            private Clause next = current(root);
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public Clause next() {
+                if (this.next == null) throw new NoSuchElementException();
+
+                Clause res = this.next;
+                this.next = advance(root, known) ? current(root) : null;
+
+                return res;
+            }
+        };
+    }
+
+    /**
+     * @return a new cursor at the first clause of the node.
+     */
+    private Cursor first(int node, List<List<Clause>> known) {
+        Cursor res = new Cursor(node);
+        Deque<Cursor> stack = new ArrayDeque<>();
+
+        stack.push(res);
+
+        while (!stack.isEmpty()) {
+            Cursor c = stack.pop();
+
+            c.list = known.get(c.node);
+            if (c.list != null) continue;
+
+            c.operands = this.operands(c.node);
+
+            if (this.graph.getKind(c.node) == NnfGraph.AND) {
+                c.children = new Cursor[] { new Cursor(c.operands.get(0)) };
+            } else {
+                c.children = new Cursor[c.operands.size()];
+
+                for (int j = 0; j < c.children.length; j++) c.children[j] = new Cursor(c.operands.get(j));
+            }
+
+            for (Cursor child : c.children) stack.push(child);
+        }
+
+        return res;
+    }
+
+    /**
+     * moves the cursor to the next clause, with an explicit stack:
+     * an AND node advances its current operand, or moves to the first clause of the
+     * next operand; an OR node advances its last operand that is not at its last clause,
+     * and moves the following operands back to their first clause, as an odometer.
+     *
+     * @return false, if the cursor was at the last clause.
+     */
+    private boolean advance(Cursor root, List<List<Clause>> known) {
+        Deque<Cursor> stack = new ArrayDeque<>();
+
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Cursor c = stack.peek();
+
+            if (c.list != null) {
+                //a leaf: returns true to all the ancestors, or false to the parent
+                stack.pop();
+                if (++c.index < c.list.size()) return found(stack);
+                continue;
+            }
+
+            boolean isAnd = this.graph.getKind(c.node) == NnfGraph.AND;
+
+            if (c.scan < 0) {
+                //first visit: advances the current operand (AND) or the last one (OR)
+                c.scan = isAnd ? 0 : c.children.length - 1;
+                stack.push(c.children[c.scan]);
+                continue;
+            }
+
+            //the child c.children[c.scan] was at its last clause
+            if (isAnd) {
+                c.scan = -1;
+                stack.pop();
+
+                if (++c.index < c.operands.size()) {
+                    c.children[0] = this.first(c.operands.get(c.index), known);
+                    return found(stack);
+                }
+            } else {
+                c.children[c.scan] = this.first(c.operands.get(c.scan), known);
+
+                if (--c.scan >= 0) {
+                    stack.push(c.children[c.scan]);
+                } else {
+                    c.scan = -1;
+                    stack.pop();
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * ends a call of advance which found the next clause, clearing the state
+     * of the cursors left on the stack.
+     */
+    private static boolean found(Deque<Cursor> stack) {
+        for (Cursor c : stack) c.scan = -1;
+
+        return true;
+    }
+
+    /**
+     * @return the clause at the position of the cursor, with the literals of the
+     *         clauses at the positions of all its cursors.
+     */
+    private static Clause current(Cursor root) {
+        int[] codes = new int[16];
+        int n = 0;
+        Deque<Cursor> stack = new ArrayDeque<>();
+
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Cursor c = stack.pop();
+
+            if (c.list == null) {
+                for (Cursor child : c.children) stack.push(child);
+                continue;
+            }
+
+            Clause clause = c.list.get(c.index);
+
+            if (n + clause.size() > codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(2 * codes.length, n + clause.size()));
+            }
+
+            for (int i = 0; i < clause.size(); i++) codes[n++] = clause.literalAt(i);
+        }
+
+        return Clause.of(Arrays.copyOf(codes, n));
+    }
+
+    private static List<Clause> union(List<List<Clause>> sets) {
+        Set<Clause> res = new HashSet<>();
+
+        for (List<Clause> clauses : sets) {
+            res.addAll(clauses);
+        }
+
+        return new ArrayList<>(res);
+    }
+
+    /**
+     * @return the set of the clauses obtained by choosing a clause from every set,
+     *         in all the possible ways, and joining their literals.
+     */
+    private static List<Clause> product(List<List<Clause>> sets) {
+        Set<Clause> res = new HashSet<>();
+        int[] choice = new int[sets.size()]; //an odometer over the sets
+
+        while (true) {
+            int length = 0;
+            for (int i = 0; i < sets.size(); i++) length += sets.get(i).get(choice[i]).size();
+
+            int[] codes = new int[length];
+            int n = 0;
+
+            for (int i = 0; i < sets.size(); i++) {
+                Clause c = sets.get(i).get(choice[i]);
+
+                for (int j = 0; j < c.size(); j++) codes[n++] = c.literalAt(j);
+            }
+
+            res.add(Clause.of(codes));
+
+            int i = sets.size() - 1;
+            while (i >= 0 && ++choice[i] == sets.get(i).size()) {
+                choice[i] = 0;
+                i--;
+            }
+
+            if (i < 0) return new ArrayList<>(res);
+        }
+    }
+}
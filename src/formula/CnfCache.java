@@ -0,0 +1,160 @@
+package formula;
+
+import cnf.Clause;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a bounded cache of the exhaustive CNF of the subformulas,
+ * shared by the calls of {@link Formula#toCnf()}.
+ *
+ * Each entry maps a subformula and a polarity (the subformula or its negation) to its
+ * clauses, so a subformula occurring in several formulas, or several times in one formula,
+ * is converted only once. The keys compare the formulas by structure, which costs a single
+ * identity check for the formulas built by a {@link FormulaFactory}.
+ *
+ * The cache holds at most a fixed number of clauses: when it is full, the least recently
+ * used entries are evicted, and a clause set larger than the whole cache is not stored.
+ * The methods are synchronized, so the cache can be shared by several threads.
+ */
+public class CnfCache {
+
+    //STATIC FIELDS
+    public static final int DEFAULT_CAPACITY = 100000; //clauses
+
+    //FIELDS
+    private final int capacity;
+    private Map<Key, List<Clause>> entries; //in access order, from the least recently used
+    private int clauses; //the number of clauses stored
+    private long hits;
+    private long misses;
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new, empty cache.
+     *
+     * @param capacity the maximum number of clauses stored in the cache.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public CnfCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("the capacity cannot be negative");
+        }
+
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    //METHODS
+
+    /**
+     * a key of the cache: a formula with a polarity.
+     */
+    private static final class Key {
+        final Formula formula;
+        final boolean negated;
+
+        Key(Formula formula, boolean negated) {
+            this.formula = formula;
+            this.negated = negated;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Key) && ((Key) obj).negated == this.negated
+                && ((Key) obj).formula.equals(this.formula);
+        }
+
+        @Override
+        public int hashCode() {
+            return 2 * this.formula.hashCode() + (this.negated ? 1 : 0);
+        }
+    }
+
+    /**
+     * @param f a formula.
+     * @param negated true for the CNF of ~f.
+     * @return the unmodifiable list of the clauses of the CNF of f (or ~f),
+     *         null if it is not in the cache.
+     */
+    synchronized List<Clause> get(Formula f, boolean negated) {
+        List<Clause> res = this.entries.get(new Key(f, negated));
+
+        if (res == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+
+        return res;
+    }
+
+    /**
+     * stores the CNF of f (or ~f), evicting the least recently used entries if needed.
+     *
+     * @param f a formula.
+     * @param negated true for the CNF of ~f.
+     * @param cnf the clauses of the CNF, which must not be modified afterwards.
+     */
+    synchronized void put(Formula f, boolean negated, List<Clause> cnf) {
+        if (cnf.size() > this.capacity) return;
+
+        List<Clause> old = this.entries.put(new Key(f, negated), Collections.unmodifiableList(cnf));
+
+        if (old != null) this.clauses -= old.size();
+        this.clauses += cnf.size();
+
+        Iterator<List<Clause>> it = this.entries.values().iterator();
+
+        while (this.clauses > this.capacity) {
+            this.clauses -= it.next().size();
+            it.remove();
+        }
+    }
+
+    /**
+     * @return the maximum number of clauses stored in the cache.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return the number of formulas in the cache.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the number of lookups which found the CNF in the cache.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return the number of lookups which did not find the CNF in the cache.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * removes all the entries from the cache.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.clauses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CNF cache: " + this.entries.size() + " formulas, " + this.clauses + "/" + this.capacity
+            + " clauses, " + this.hits + " hits, " + this.misses + " misses";
+    }
+}
@@ -0,0 +1,14 @@
+package formula;
+
+/**
+ * This enumeration represents the transformations that convert a formula
+ * into a set of clauses.
+ *
+ * @see Formula#toCnf(CnfTransformation)
+ */
+public enum CnfTransformation {
+    EXHAUSTIVE,   //equivalent CNF, obtained by distributing OR over AND: its size can be exponential
+    TSEITIN,      //equisatisfiable CNF, with a new atom for each compound subformula: its size is linear
+    POLARITY,     //as TSEITIN, but each new atom is only defined in the direction required by its polarity
+    AUTO;         //EXHAUSTIVE if the equivalent CNF is small enough, POLARITY otherwise
+}
@@ -2,8 +2,8 @@ package formula;
 
 import connective.Connective;
 import static connective.Connective.*;
-import cnf.*;
-import literal.Literal;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
 
 /**
@@ -16,6 +16,7 @@ public class CompoundFormula extends Formula {
     //FIELDS
     private final Connective mainConnective;
     private Formula[] subFormulas; //there are only two subformulas or only one in the case of the "not" connective
+    private final int hash; //computed from the cached hashes of the subformulas
 
 
     //CONSTRUCTORS
@@ -43,6 +44,7 @@ public class CompoundFormula extends Formula {
         subFormulas[1] = f2;
 
         this.mainConnective = mainConnective;
+        this.hash = (31 * mainConnective.ordinal() + f1.hashCode()) * 31 + f2.hashCode();
     }
 
     /**
@@ -64,6 +66,7 @@ public class CompoundFormula extends Formula {
         subFormulas[0] = f;
 
         this.mainConnective = mainConnective;
+        this.hash = 31 * mainConnective.ordinal() + f.hashCode();
     }
 
 
@@ -106,7 +109,49 @@ public class CompoundFormula extends Formula {
         return mainConnective;
     }
 
-    
+
+    /**
+     * two compound formulas are equal if they have the same structure.
+     * the formulas are compared with an explicit stack, and the subformulas which are
+     * the same object (e.g. built by a {@link FormulaFactory}) are not visited.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CompoundFormula)) return false;
+
+        Deque<Formula[]> stack = new ArrayDeque<>();
+        stack.push(new Formula[] { this, (Formula) obj });
+
+        while (!stack.isEmpty()) {
+            Formula[] pair = stack.pop();
+
+            if (pair[0] == pair[1]) continue;
+
+            if (pair[0].hashCode() != pair[1].hashCode()) return false;
+
+            if (pair[0] instanceof AtomicFormula || pair[1] instanceof AtomicFormula) {
+                if (!pair[0].equals(pair[1])) return false;
+                continue;
+            }
+
+            CompoundFormula cf1 = (CompoundFormula) pair[0];
+            CompoundFormula cf2 = (CompoundFormula) pair[1];
+
+            if (cf1.mainConnective != cf2.mainConnective) return false;
+
+            for (int i = 0; i < cf1.subFormulas.length; i++) {
+                stack.push(new Formula[] { cf1.subFormulas[i], cf2.subFormulas[i] });
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
     @Override
     public String toString() {
 
@@ -121,105 +166,4 @@ public class CompoundFormula extends Formula {
 
         return res.toString();
     }
-
-
-    @Override
-    public ClauseSet toCnf() {
-
-        switch (this.mainConnective) {
-            case NOT:
-                Formula f1 = this.getLeftSubformula();
-
-                if (f1 instanceof AtomicFormula) {
-                    Literal l1 = ((AtomicFormula)f1).toLiteral();
-                    Literal oppL1 = l1.getOpposite();
-
-                    return new ClauseSet( new Clause(oppL1) );    
-                } else {
-                    CompoundFormula cf1 = (CompoundFormula) f1;
-                    Connective mainC = cf1.getMainConnective();
-
-                    if(mainC == NOT) {
-                        //double negation
-                        Formula g1 = cf1.getLeftSubformula();
-
-                        return g1.toCnf();
-                    } else if(mainC == OR){ 
-                        //De Morgan on ~(g1 | g2)
-                        Formula g1 = cf1.getLeftSubformula();   
-                        Formula g2 = cf1.getRightSubformula();
-                        Formula g  = new CompoundFormula(AND, 
-                            new CompoundFormula(NOT, g1), 
-                            new CompoundFormula(NOT, g2));  // ~g1 & ~g2
-                        
-                        return g.toCnf();
-                    } else if (mainC == AND) {
-                        //De Morgan on ~(g1 & g2)
-                        Formula g1 = cf1.getLeftSubformula();   
-                        Formula g2 = cf1.getRightSubformula();
-                        Formula g = new CompoundFormula(OR, 
-                            new CompoundFormula(NOT, g1), 
-                            new CompoundFormula(NOT, g2));  // ~g1 | ~g2
-                        
-                        return g.toCnf();
-                    } else if (mainC == IMPLIES) {
-                        // ~(g1 -> g2)
-                        Formula notG1 = new CompoundFormula(NOT, cf1.getLeftSubformula());
-                        CompoundFormula or = new CompoundFormula(OR, notG1, cf1.getRightSubformula());
-
-                        return (new CompoundFormula(NOT, or)).toCnf();
-                    } else {
-                        // ~(g1 <-> g2)
-                        Formula notG1 = new CompoundFormula(NOT, cf1.getLeftSubformula());
-                        Formula notG2 = new CompoundFormula(NOT, cf1.getRightSubformula());
-                        Formula left = new CompoundFormula(OR, notG1, cf1.getRightSubformula());
-                        Formula right = new CompoundFormula(OR, cf1.getLeftSubformula(), notG2);
-
-                        Formula iff = new CompoundFormula(AND, left, right);
-
-                        return (new CompoundFormula(NOT, iff)).toCnf();
-                    }
-
-                }
-            case IMPLIES:
-                // (g1 -> g2)  ===>  ~g1 | g2
-                Formula notG1 = new CompoundFormula(NOT, this.getLeftSubformula());
-                CompoundFormula cf = new CompoundFormula(OR, notG1, 
-                    this.getRightSubformula());
-
-                return cf.toCnf();
-            case IFF:
-                // (g1 <-> g2)  ===>  (~g1 | g2) & (g1 | ~g2)
-                notG1 = new CompoundFormula(NOT, this.getLeftSubformula());
-                Formula notG2 = new CompoundFormula(NOT, this.getRightSubformula());
-                Formula left = new CompoundFormula(OR, notG1, this.getRightSubformula());
-                Formula right = new CompoundFormula(OR, this.getLeftSubformula(), notG2);
-
-                return (new CompoundFormula(AND, left, right)).toCnf();
-            case AND:
-                Formula g1 = this.getLeftSubformula();   
-                Formula g2 = this.getRightSubformula();
-                ClauseSet cs1 = g1.toCnf();
-                ClauseSet cs2 = g2.toCnf();  
-
-                return cs1.union(cs2);
-            case OR:
-                g1 = this.getLeftSubformula();
-                g2 = this.getRightSubformula();
-                cs1 = g1.toCnf();
-                cs2 = g2.toCnf();
-
-                ClauseSet csResult = new ClauseSet();
-
-                for (Clause c1 : cs1) {
-                    for (Clause c2 : cs2) {
-                        csResult.add(c1.union(c2));
-                    }
-                }
-
-                return csResult;
-        }
-
-        throw new Error("An error occurred while executing the program");
-    }
 }
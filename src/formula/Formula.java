@@ -1,17 +1,124 @@
 package formula;
 
+import cnf.Clause;
 import cnf.ClauseSet;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * this abstract class is used to represent a formula in propositional logic. 
  * A formula can be atomic or composite.
  */
 public abstract class Formula {
+
+    //STATIC FIELDS
+    static final long AUTO_LIMIT = 1000; //the maximum number of clauses of the equivalent CNF chosen by AUTO
+    private static volatile CnfCache cache = new CnfCache(CnfCache.DEFAULT_CAPACITY);
+
+    /**
+     * sets the cache of the CNF of the subformulas used by the EXHAUSTIVE transformation,
+     * which is shared by all the formulas.
+     *
+     * @param value the cache, or null to disable the cache.
+     */
+    public static void setCnfCache(CnfCache value) {
+        cache = value;
+    }
+
+    /**
+     * @return the cache used by the EXHAUSTIVE transformation, null if it is disabled.
+     */
+    public static CnfCache getCnfCache() {
+        return cache;
+    }
     
     /**
      * converts this formula to conjunctive normal form.
      * 
      * @return the clauseset representing this formula converted to CNF.
      */
-    public abstract ClauseSet toCnf();
+    public ClauseSet toCnf() {
+        return this.toCnf(CnfTransformation.EXHAUSTIVE);
+    }
+
+    /**
+     * converts this formula to a set of clauses, using the specified transformation.
+     * with the EXHAUSTIVE transformation the result is the same of {@link #toCnf()},
+     * the other transformations introduce new atoms and return a set of clauses
+     * which is satisfiable if and only if this formula is satisfiable.
+     * the AUTO transformation uses EXHAUSTIVE if the equivalent CNF has at most
+     * AUTO_LIMIT clauses (before removing duplicates), and POLARITY otherwise.
+     * the EXHAUSTIVE transformation first converts the formula to negation normal form
+     * (see {@link NnfGraph}) and then to clauses (see {@link Clausifier}), reusing the
+     * clauses of the subformulas stored in the cache (see {@link #setCnfCache(CnfCache)}).
+     * no transformation is recursive, so deep formulas do not overflow the stack.
+     *
+     * @param transformation the transformation to be used.
+     * @return the clauseset obtained from this formula.
+     * @throws NullPointerException if transformation is null.
+     */
+    public ClauseSet toCnf(CnfTransformation transformation) {
+        switch (transformation) {
+            case EXHAUSTIVE:
+                return new Clausifier(new NnfGraph(this, false)).clausify(cache);
+            case TSEITIN:
+                return new TseitinTransformer(false).transform(this);
+            case POLARITY:
+                return new TseitinTransformer(true).transform(this);
+            case AUTO:
+                Clausifier clausifier = new Clausifier(new NnfGraph(this, false));
+
+                if (clausifier.count() <= AUTO_LIMIT) {
+                    return clausifier.clausify(cache);
+                }
+
+                return new TseitinTransformer(true).transform(this);
+        }
+
+        throw new Error("An error occurred while executing the program");
+    }
+
+    /**
+     * converts this formula to clauses lazily, using the specified transformation:
+     * the clauses are produced one at a time, as the iterator is advanced, so a consumer
+     * can start working before the whole clause set exists and the clause set is never
+     * stored. unlike {@link #toCnf(CnfTransformation)}, the iterator of the EXHAUSTIVE
+     * transformation can return the same clause more than once.
+     *
+     * @param transformation the transformation to be used.
+     * @return an iterator over the clauses obtained from this formula.
+     * @throws NullPointerException if transformation is null.
+     */
+    public Iterator<Clause> cnfIterator(CnfTransformation transformation) {
+        switch (transformation) {
+            case EXHAUSTIVE:
+                return new Clausifier(new NnfGraph(this, false)).iterator(cache);
+            case TSEITIN:
+                return new TseitinTransformer(false).iterator(this);
+            case POLARITY:
+                return new TseitinTransformer(true).iterator(this);
+            case AUTO:
+                Clausifier clausifier = new Clausifier(new NnfGraph(this, false));
+
+                if (clausifier.count() <= AUTO_LIMIT) {
+                    return clausifier.iterator(cache);
+                }
+
+                return new TseitinTransformer(true).iterator(this);
+        }
+
+        throw new Error("An error occurred while executing the program");
+    }
+
+    /**
+     * @param transformation the transformation to be used.
+     * @return a spliterator over the clauses obtained from this formula,
+     *         produced lazily as in {@link #cnfIterator(CnfTransformation)}.
+     * @throws NullPointerException if transformation is null.
+     */
+    public Spliterator<Clause> cnfSpliterator(CnfTransformation transformation) {
+        return Spliterators.spliteratorUnknownSize(this.cnfIterator(transformation),
+            Spliterator.ORDERED | Spliterator.NONNULL);
+    }
 }
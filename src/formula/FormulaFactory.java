@@ -0,0 +1,155 @@
+package formula;
+
+import connective.Connective;
+import static connective.Connective.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * this class builds formulas with hash-consing: a formula built by the factory
+ * is a single shared object for all the structurally equal formulas built by
+ * the same factory, so repeated subformulas are stored once and a formula is a DAG.
+ *
+ * Since the subformulas of a shared formula are themselves shared, two formulas of
+ * the factory are equal if and only if they are the same object, and the work done
+ * on a subformula can be memoized by identity (as TseitinTransformer and NnfGraph do).
+ * The hash of each formula is computed once, from the cached hashes of its subformulas.
+ *
+ * The methods are synchronized, so a factory can be shared by several threads.
+ */
+public class FormulaFactory {
+
+    //FIELDS
+    private Map<Formula, Formula> table; //formula -> the shared equal formula
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new factory with no formulas.
+     */
+    public FormulaFactory() {
+        this.table = new HashMap<>();
+    }
+
+    //METHODS
+
+    /**
+     * @param name the name of the atom.
+     * @return the shared atomic formula with the specified name.
+     * @throws NullPointerException if the name is null.
+     * @throws IllegalArgumentException if the name is an empty string.
+     */
+    public synchronized AtomicFormula atom(String name) {
+        return (AtomicFormula) this.share(new AtomicFormula(name));
+    }
+
+    /**
+     * @param f the formula to be negated.
+     * @return the shared formula ~f.
+     * @throws NullPointerException if f is null.
+     */
+    public synchronized CompoundFormula not(Formula f) {
+        return (CompoundFormula) this.share(new CompoundFormula(NOT, this.intern(f)));
+    }
+
+    /**
+     * @param mainConnective a binary connective.
+     * @param f1 the left subformula.
+     * @param f2 the right subformula.
+     * @return the shared formula (f1 mainConnective f2).
+     * @throws IllegalArgumentException if mainConnective is NOT.
+     * @throws NullPointerException if the formulas f1 or f2 are null.
+     */
+    public synchronized CompoundFormula compound(Connective mainConnective, Formula f1, Formula f2) {
+        Objects.requireNonNull(f1, "one or both formulas are null");
+        Objects.requireNonNull(f2, "one or both formulas are null");
+
+        return (CompoundFormula) this.share(new CompoundFormula(mainConnective, this.intern(f1), this.intern(f2)));
+    }
+
+    /**
+     * @param f a formula, built by this factory or not.
+     * @return the shared formula equal to f. its subformulas are shared too.
+     * @throws NullPointerException if f is null.
+     */
+    public synchronized Formula intern(Formula f) {
+        Objects.requireNonNull(f);
+
+        Formula found = this.table.get(f);
+
+        if (found != null) {
+            return found;
+        }
+
+        //shares the subformulas in post-order, with an explicit stack
+        Map<Formula, Formula> shared = new IdentityHashMap<>();
+        Deque<Formula> stack = new ArrayDeque<>();
+
+        stack.push(f);
+
+        while (!stack.isEmpty()) {
+            Formula g = stack.peek();
+
+            if (shared.containsKey(g)) {
+                stack.pop();
+                continue;
+            }
+
+            found = this.table.get(g);
+
+            if (found != null || g instanceof AtomicFormula) {
+                stack.pop();
+                shared.put(g, (found != null) ? found : this.share(g));
+                continue;
+            }
+
+            CompoundFormula cf = (CompoundFormula) g;
+            Formula[] subs = cf.getSubformulas();
+            boolean ready = true;
+
+            for (Formula sub : subs) {
+                if (!shared.containsKey(sub)) {
+                    stack.push(sub);
+                    ready = false;
+                }
+            }
+
+            if (!ready) continue;
+
+            stack.pop();
+
+            Formula s1 = shared.get(subs[0]);
+            Formula s2 = (subs.length == 2) ? shared.get(subs[1]) : null;
+
+            if (s1 != subs[0] || (s2 != null && s2 != subs[1])) {
+                //rebuilds the formula on the shared subformulas
+                cf = (s2 == null) ? new CompoundFormula(NOT, s1) : new CompoundFormula(cf.getMainConnective(), s1, s2);
+            }
+
+            shared.put(g, this.share(cf));
+        }
+
+        return shared.get(f);
+    }
+
+    /**
+     * @return the number of distinct formulas built by this factory.
+     */
+    public synchronized int size() {
+        return this.table.size();
+    }
+
+    /**
+     * @param f a formula whose subformulas are shared.
+     * @return the shared formula equal to f, which is f itself if it is new.
+     */
+    private Formula share(Formula f) {
+        Formula found = this.table.putIfAbsent(f, f);
+
+        return (found == null) ? f : found;
+    }
+}
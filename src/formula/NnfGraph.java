@@ -0,0 +1,310 @@
+package formula;
+
+import connective.Connective;
+import literal.LiteralTable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * this class represents the negation normal form (NNF) of a formula, i.e. an equivalent
+ * formula built only with AND, OR and literals, as a graph of nodes stored in flat arrays.
+ *
+ * The negations are pushed to the atoms while the graph is built, without creating new
+ * formulas: each subformula g is visited with a polarity, and its node represents g
+ * (positive polarity) or ~g (negative polarity).
+ *   g1 -> g2   is represented by   ~g1 | g2,
+ *   g1 <-> g2  is represented by   (~g1 | g2) & (g1 | ~g2),
+ * and their negations, as well as the negations of AND and OR, follow De Morgan.
+ * Every pair (subformula object, polarity) gets a single node, so the operands of an IFF
+ * are shared instead of copied, and the graph is a DAG of size linear in the formula.
+ *
+ * The formula is visited with an explicit stack, so the depth of the formula is not limited
+ * by the stack of the thread. The nodes are numbered in the order they are created,
+ * so the children of a node always have a smaller number than the node.
+ */
+final class NnfGraph {
+
+    //STATIC FIELDS
+    static final int LITERAL = 0;
+    static final int AND = 1;
+    static final int OR = 2;
+
+    //FIELDS
+    private int size;
+    private int[] kind;
+    private int[] left;  //the code of the literal, for a LITERAL node
+    private int[] right;
+    private int[] parents; //the number of nodes having the node as a child
+    private Formula[] source; //the subformula represented by the node, null for the nodes inside an IFF
+    private boolean[] negated; //true, if the node represents the negation of its subformula
+    private int root;
+
+    //CONSTRUCTORS
+
+    /**
+     * builds the negation normal form of the formula f, or of its negation.
+     *
+     * @param f the formula.
+     * @param negated true to build the negation normal form of ~f.
+     * @throws NullPointerException if f is null.
+     */
+    NnfGraph(Formula f, boolean negated) {
+        Objects.requireNonNull(f);
+
+        this.kind = new int[16];
+        this.left = new int[16];
+        this.right = new int[16];
+        this.parents = new int[16];
+        this.source = new Formula[16];
+        this.negated = new boolean[16];
+        this.root = this.build(f, negated);
+    }
+
+    //METHODS
+
+    /**
+     * @return the number of nodes.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the node representing the whole formula.
+     */
+    int getRoot() {
+        return this.root;
+    }
+
+    /**
+     * @param node a node.
+     * @return LITERAL, AND or OR.
+     */
+    int getKind(int node) {
+        return this.kind[node];
+    }
+
+    /**
+     * @param node a LITERAL node.
+     * @return the code of its literal.
+     */
+    int getLiteral(int node) {
+        return this.left[node];
+    }
+
+    /**
+     * @param node an AND or OR node.
+     * @return its left child.
+     */
+    int getLeft(int node) {
+        return this.left[node];
+    }
+
+    /**
+     * @param node an AND or OR node.
+     * @return its right child.
+     */
+    int getRight(int node) {
+        return this.right[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the number of nodes having the node as a child.
+     */
+    int getParents(int node) {
+        return this.parents[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return the subformula whose node (with the polarity given by {@link #isNegated(int)})
+     *         is the specified node. null, for the nodes introduced by the expansion of IFF.
+     */
+    Formula getFormula(int node) {
+        return this.source[node];
+    }
+
+    /**
+     * @param node a node.
+     * @return true, if the node represents the negation of the subformula returned
+     *         by {@link #getFormula(int)}.
+     */
+    boolean isNegated(int node) {
+        return this.negated[node];
+    }
+
+    /**
+     * a frame of the explicit stack: a subformula, which is not a negation, with its polarity.
+     */
+    private static final class Frame {
+        final Formula formula;
+        final boolean negated;
+        boolean expanded; //true, if its operands have already been pushed
+
+        Frame(Formula formula, boolean negated) {
+            this.formula = formula;
+            this.negated = negated;
+        }
+    }
+
+    /**
+     * visits the formula in post-order and creates the nodes.
+     *
+     * @return the node of the formula f with the specified polarity.
+     */
+    private int build(Formula f, boolean negated) {
+        Map<Formula, int[]> nodes = new IdentityHashMap<>(); //subformula -> {positive node, negative node}
+        Deque<Frame> stack = new ArrayDeque<>();
+        Frame top = frame(f, negated);
+
+        stack.push(top);
+
+        while (!stack.isEmpty()) {
+            Frame fr = stack.peek();
+
+            if (lookup(nodes, fr.formula, fr.negated) >= 0) {
+                stack.pop();
+                continue;
+            }
+
+            if (fr.formula instanceof AtomicFormula) {
+                int code = ((AtomicFormula) fr.formula).toLiteral().getCode();
+
+                stack.pop();
+                this.store(nodes, fr, this.add(LITERAL, fr.negated ? LiteralTable.opposite(code) : code, 0));
+                continue;
+            }
+
+            CompoundFormula cf = (CompoundFormula) fr.formula;
+            Frame l = frame(cf.getLeftSubformula(), false);
+            Frame r = frame(cf.getRightSubformula(), false);
+
+            if (!fr.expanded) {
+                //the polarities of the operands are computed from the normalized frames
+                fr.expanded = true;
+
+                for (boolean ln : operandPolarities(cf.getMainConnective(), fr.negated, true)) {
+                    stack.push(frame(l.formula, l.negated ^ ln));
+                }
+
+                for (boolean rn : operandPolarities(cf.getMainConnective(), fr.negated, false)) {
+                    stack.push(frame(r.formula, r.negated ^ rn));
+                }
+
+                continue;
+            }
+
+            stack.pop();
+
+            int lp = lookup(nodes, l.formula, l.negated);
+            int ln = lookup(nodes, l.formula, !l.negated);
+            int rp = lookup(nodes, r.formula, r.negated);
+            int rn = lookup(nodes, r.formula, !r.negated);
+            int node;
+
+            switch (cf.getMainConnective()) {
+                case AND:
+                    node = fr.negated ? this.add(OR, ln, rn) : this.add(AND, lp, rp);
+                    break;
+                case OR:
+                    node = fr.negated ? this.add(AND, ln, rn) : this.add(OR, lp, rp);
+                    break;
+                case IMPLIES:
+                    node = fr.negated ? this.add(AND, lp, rn) : this.add(OR, ln, rp);
+                    break;
+                case IFF:
+                    node = fr.negated
+                        ? this.add(OR, this.add(AND, lp, rn), this.add(AND, ln, rp))
+                        : this.add(AND, this.add(OR, ln, rp), this.add(OR, lp, rn));
+                    break;
+                default:
+                    throw new Error("An error occurred while executing the program");
+            }
+
+            this.store(nodes, fr, node);
+        }
+
+        return lookup(nodes, top.formula, top.negated);
+    }
+
+    /**
+     * @param conn the main connective of a subformula (not NOT).
+     * @param negated the polarity of the subformula.
+     * @param leftOperand true for the left operand, false for the right one.
+     * @return the polarities (true for negative) needed for the operand.
+     */
+    private static boolean[] operandPolarities(Connective conn, boolean negated, boolean leftOperand) {
+        switch (conn) {
+            case AND:
+            case OR:
+                return new boolean[] { negated };
+            case IMPLIES:
+                return new boolean[] { leftOperand ? !negated : negated };
+            case IFF:
+                return new boolean[] { false, true };
+            default:
+                throw new Error("An error occurred while executing the program");
+        }
+    }
+
+    /**
+     * @return the frame of the formula f with the specified polarity,
+     *         after removing the negations at the top of f.
+     */
+    private static Frame frame(Formula f, boolean negated) {
+        while (f instanceof CompoundFormula && ((CompoundFormula) f).getMainConnective() == Connective.NOT) {
+            f = ((CompoundFormula) f).getLeftSubformula();
+            negated = !negated;
+        }
+
+        return new Frame(f, negated);
+    }
+
+    private static int lookup(Map<Formula, int[]> nodes, Formula f, boolean negated) {
+        int[] entry = nodes.get(f);
+
+        return (entry == null) ? -1 : entry[negated ? 1 : 0];
+    }
+
+    private void store(Map<Formula, int[]> nodes, Frame fr, int node) {
+        int[] entry = nodes.computeIfAbsent(fr.formula, k -> new int[] { -1, -1 });
+
+        entry[fr.negated ? 1 : 0] = node;
+        this.source[node] = fr.formula;
+        this.negated[node] = fr.negated;
+    }
+
+    /**
+     * creates a new node.
+     *
+     * @return the number of the new node.
+     */
+    private int add(int k, int l, int r) {
+        if (this.size == this.kind.length) {
+            int capacity = this.size * 2;
+
+            this.kind = Arrays.copyOf(this.kind, capacity);
+            this.left = Arrays.copyOf(this.left, capacity);
+            this.right = Arrays.copyOf(this.right, capacity);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.source = Arrays.copyOf(this.source, capacity);
+            this.negated = Arrays.copyOf(this.negated, capacity);
+        }
+
+        if (k != LITERAL) {
+            this.parents[l]++;
+            this.parents[r]++;
+        }
+
+        this.kind[this.size] = k;
+        this.left[this.size] = l;
+        this.right[this.size] = r;
+
+        return this.size++;
+    }
+}
@@ -0,0 +1,267 @@
+package formula;
+
+import cnf.*;
+import connective.Connective;
+import literal.LiteralTable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * this class implements the Tseitin (definitional) transformation of a formula into
+ * a set of clauses.
+ *
+ * Each compound subformula g = (g1 op g2) is represented by a new atom x, and the clauses
+ * of the equivalence x <-> (l1 op l2) are added to the result, where l1 and l2 are the
+ * literals representing g1 and g2. A negation ~g is represented by the opposite of the
+ * literal representing g, so it needs no new atom. Finally the unit clause containing the
+ * literal of the whole formula is added.
+ * The result is satisfiable if and only if the formula is satisfiable, and its size is
+ * linear in the size of the formula. The subformulas are visited with an explicit stack,
+ * and the clauses can be produced one at a time, through an iterator.
+ *
+ * In the polarity-aware variant (Plaisted-Greenbaum) the transformer tracks the polarity
+ * of each subformula: a subformula occurring only positively needs only the implication
+ * x -> (l1 op l2), one occurring only negatively needs only (l1 op l2) -> x, and only the
+ * subformulas under an IFF need both directions. The result is still equisatisfiable.
+ *
+ * The new atoms are created by LiteralTable.fresh, so the atoms of two conversions are
+ * always different, and their sets of clauses can be joined.
+ */
+class TseitinTransformer {
+
+    //STATIC FIELDS
+    static final String PREFIX = "_t"; //the prefix of the new atoms: "_" cannot appear in the parsed atoms
+
+    //the polarities of a subformula, as a bit mask
+    private static final int POSITIVE = 1;
+    private static final int NEGATIVE = 2;
+    private static final int BOTH = POSITIVE | NEGATIVE;
+
+    //FIELDS
+    private final boolean polarityAware;
+    private Deque<Clause> pending; //the clauses produced and not yet returned
+    private Deque<Frame> stack;
+    private Map<Formula, int[]> defined; //subformula -> {code of its literal, polarities already defined}
+
+    //CONSTRUCTORS
+
+    /**
+     * @param polarityAware true for the Plaisted-Greenbaum variant, which only adds
+     *                      the implications required by the polarity of each subformula.
+     */
+    TseitinTransformer(boolean polarityAware) {
+        this.polarityAware = polarityAware;
+        this.pending = new ArrayDeque<>();
+        this.stack = new ArrayDeque<>();
+        this.defined = new IdentityHashMap<>();
+    }
+
+    //METHODS
+
+    /**
+     * @param f the formula to be transformed.
+     * @return the set of clauses equisatisfiable with f.
+     * @throws NullPointerException if f is null.
+     */
+    ClauseSet transform(Formula f) {
+        ClauseSet result = new ClauseSet();
+
+        this.iterator(f).forEachRemaining(result::add);
+
+        return result;
+    }
+
+    /**
+     * @param f the formula to be transformed.
+     * @return an iterator over the clauses equisatisfiable with f, which visits the
+     *         subformulas of f only as far as needed to produce the next clause.
+     * @throws NullPointerException if f is null.
+     */
+    Iterator<Clause> iterator(Formula f) {
+        Objects.requireNonNull(f);
+
+        Frame top = frame(f, this.polarityAware ? POSITIVE : BOTH);
+
+        this.stack.push(top);
+
+        return new Iterator<Clause>() {
+            private boolean done = false; //true, once the unit clause of the root has been produced
+
+            @Override
+            public boolean hasNext() {
+                while (pending.isEmpty() && !this.done) {
+                    if (stack.isEmpty()) {
+                        pending.add(Clause.of(literal(top)));
+                        this.done = true;
+                    } else {
+                        step();
+                    }
+                }
+
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public Clause next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+
+                return pending.poll();
+            }
+        };
+    }
+
+    /**
+     * a frame of the explicit stack: a subformula, which is not a negation, with the
+     * polarities of its occurrence.
+     */
+    private static final class Frame {
+        final Formula formula;
+        final int polarity;
+        final boolean negated; //true, if the subformula is under an odd number of negations
+        int missing = -1; //the directions to be defined, once its operands have been pushed
+
+        Frame(Formula formula, int polarity, boolean negated) {
+            this.formula = formula;
+            this.polarity = polarity;
+            this.negated = negated;
+        }
+    }
+
+    /**
+     * processes the frame at the top of the explicit stack. the subformulas are visited
+     * in post-order, so the depth of the formula is not limited by the stack of the thread:
+     * the clauses which define the atom of a subformula are produced after its operands
+     * have been visited.
+     */
+    private void step() {
+        Frame fr = this.stack.peek();
+
+        if (fr.formula instanceof AtomicFormula) {
+            this.stack.pop();
+            return;
+        }
+
+        CompoundFormula cf = (CompoundFormula) fr.formula;
+        Connective conn = cf.getMainConnective();
+
+        if (fr.missing < 0) {
+            //the same subformula object is represented by the same atom,
+            //and each direction of its definition is added only once
+            int[] entry = this.defined.get(cf);
+
+            if (entry == null) {
+                entry = new int[] { LiteralTable.positive(LiteralTable.fresh(PREFIX)), 0 };
+                this.defined.put(cf, entry);
+            }
+
+            fr.missing = fr.polarity & ~entry[1];
+
+            if (fr.missing == 0) {
+                this.stack.pop();
+                return;
+            }
+
+            entry[1] |= fr.missing;
+
+            int leftPolarity = fr.missing;
+            int rightPolarity = fr.missing;
+
+            if (conn == Connective.IMPLIES) {
+                leftPolarity = flip(fr.missing);
+            } else if (conn == Connective.IFF) {
+                leftPolarity = BOTH;
+                rightPolarity = BOTH;
+            }
+
+            this.stack.push(frame(cf.getRightSubformula(), rightPolarity));
+            this.stack.push(frame(cf.getLeftSubformula(), leftPolarity));
+            return;
+        }
+
+        this.stack.pop();
+
+        int a = this.literal(frame(cf.getLeftSubformula(), BOTH));
+        int b = this.literal(frame(cf.getRightSubformula(), BOTH));
+
+        this.define(this.defined.get(cf)[0], conn, a, b, fr.missing);
+    }
+
+    /**
+     * @return the frame of the formula f with the specified polarities,
+     *         after removing the negations at the top of f.
+     */
+    private static Frame frame(Formula f, int polarity) {
+        boolean negated = false;
+
+        while (f instanceof CompoundFormula && ((CompoundFormula) f).getMainConnective() == Connective.NOT) {
+            f = ((CompoundFormula) f).getLeftSubformula();
+            polarity = flip(polarity);
+            negated = !negated;
+        }
+
+        return new Frame(f, polarity, negated);
+    }
+
+    /**
+     * @param fr the frame of an atomic formula or of an already encoded subformula.
+     * @return the code of the literal representing the subformula of the frame,
+     *         with its negations.
+     */
+    private int literal(Frame fr) {
+        int code = (fr.formula instanceof AtomicFormula)
+            ? ((AtomicFormula) fr.formula).toLiteral().getCode()
+            : this.defined.get(fr.formula)[0];
+
+        return fr.negated ? LiteralTable.opposite(code) : code;
+    }
+
+    /**
+     * @return the polarities of the operand of a negation with the specified polarities.
+     */
+    private static int flip(int polarity) {
+        return ((polarity & POSITIVE) != 0 ? NEGATIVE : 0) | ((polarity & NEGATIVE) != 0 ? POSITIVE : 0);
+    }
+
+    /**
+     * adds the clauses of the equivalence x <-> (a conn b): the clauses of x -> (a conn b)
+     * if polarity contains POSITIVE, and the clauses of (a conn b) -> x if it contains NEGATIVE.
+     */
+    private void define(int x, Connective conn, int a, int b, int polarity) {
+        int notX = LiteralTable.opposite(x);
+        int notA = LiteralTable.opposite(a);
+        int notB = LiteralTable.opposite(b);
+        boolean pos = (polarity & POSITIVE) != 0;
+        boolean neg = (polarity & NEGATIVE) != 0;
+
+        switch (conn) {
+            case AND:
+                if (pos) this.pending.add(Clause.of(notX, a));
+                if (pos) this.pending.add(Clause.of(notX, b));
+                if (neg) this.pending.add(Clause.of(x, notA, notB));
+                break;
+            case OR:
+                if (pos) this.pending.add(Clause.of(notX, a, b));
+                if (neg) this.pending.add(Clause.of(x, notA));
+                if (neg) this.pending.add(Clause.of(x, notB));
+                break;
+            case IMPLIES:
+                if (pos) this.pending.add(Clause.of(notX, notA, b));
+                if (neg) this.pending.add(Clause.of(x, a));
+                if (neg) this.pending.add(Clause.of(x, notB));
+                break;
+            case IFF:
+                if (pos) this.pending.add(Clause.of(notX, notA, b));
+                if (pos) this.pending.add(Clause.of(notX, a, notB));
+                if (neg) this.pending.add(Clause.of(x, a, b));
+                if (neg) this.pending.add(Clause.of(x, notA, notB));
+                break;
+            default:
+                throw new Error("An error occurred while executing the program");
+        }
+    }
+}
@@ -14,26 +14,11 @@ public class Atom extends Literal {
      * @throws IllegalArgumentException if the "name" parameter is a empty string.
      */
     public Atom(String name) {
-        super(name);
+        super(name, false);
     }
     
     //METHODS
 
-    @Override
-    public Literal getOpposite() {
-        return new NegAtom(this.getName());
-    }
-
-    private boolean equals(Atom atm) {
-        return this.getName().equals(atm.getName());
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-	    return (obj instanceof Atom) && (this.equals( (Atom) obj));
-    }
-
-
     @Override
     public String toString() {
         return this.getName();
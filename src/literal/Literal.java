@@ -1,34 +1,35 @@
 package literal;
 
-import java.util.Objects;
-
 /**
  * This abstract class represents a literal in propositional logic,
  * which can be an atom or a negated atom.
+ *
+ * Each literal is identified by an int code assigned through the {@link LiteralTable}:
+ * two literals are equal if and only if they have the same code.
  */
 public abstract class Literal {
 
     //FIELDS
     private final String name;
+    private final int code; //the code of this literal in the LiteralTable
+    private Literal opposite; //the interned opposite, fetched on the first call of getOpposite
 
     //CONSTRUCTORS
 
     /**
      * @param name the name of literal
+     * @param negated true, if the literal is a negated atom.
      * @throws NullPointerException if the "name" parameter is null
      * @throws IllegalArgumentException if the "name" parameter is a empty string.
      * 
      * this constructor is used by the subclasses to instantiate the literal, 
      * with the name given as a parameter.
      */
-    protected Literal(String name) {
-        Objects.requireNonNull(name);
+    protected Literal(String name, boolean negated) {
+        int var = LiteralTable.intern(name);
 
-        if (name.equals("")) {
-            throw new IllegalArgumentException("the name cannot be empty");
-        }
-        
-        this.name = name;
+        this.name = LiteralTable.getName(var);
+        this.code = negated ? LiteralTable.negative(var) : LiteralTable.positive(var);
     }
 
     //METHODS
@@ -40,14 +41,36 @@ public abstract class Literal {
         return name;
     }
 
+    /**
+     * @return the code of this literal in the LiteralTable.
+     */
+    public int getCode() {
+        return code;
+    }
+
     /**
      * @return the opposite of the literal this. if the literal is an instance of the Atom class 
      * it returns the corresponding NegAtom instance, and vice versa.
+     * The returned instance is interned, so no object is allocated by this method.
      */
-    public abstract Literal getOpposite();
+    public Literal getOpposite() {
+        Literal opp = this.opposite;
+
+        if (opp == null) {
+            opp = LiteralTable.toLiteral(LiteralTable.opposite(code));
+            this.opposite = opp;
+        }
+
+        return opp;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return (obj instanceof Literal) && (this.code == ((Literal) obj).code);
+    }
 
     @Override
     public int hashCode() {
-        return 1;
+        return code;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package literal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class without constructors is the symbol table shared by all the literals.
+ *
+ * Every atom name is interned once and receives a variable number v (starting from 0).
+ * A literal is then encoded as an int: 2v for the atom and 2v+1 for the negated atom,
+ * so that the opposite of a literal is obtained by flipping the lowest bit of its code,
+ * and the codes of a literal and of its opposite are always adjacent.
+ *
+ * The interning methods are synchronized, so the table can be shared by several threads.
+ */
+public final class LiteralTable {
+
+    //STATIC FIELDS
+    private static final Map<String, Integer> variables = new HashMap<>(); //name -> variable number
+    private static final List<String> names = new ArrayList<>(); //variable number -> name
+    private static final List<Literal> literals = new ArrayList<>(); //code -> interned literal
+    private static final AtomicLong counter = new AtomicLong(); //the number of the next new atom
+
+    //CONSTRUCTORS
+    private LiteralTable() {
+    }
+
+    //METHODS
+
+    /**
+     * interns the specified atom name.
+     *
+     * @param name the name of the atom.
+     * @return the variable number of the atom. the same name always gets the same number.
+     * @throws NullPointerException if the name is null.
+     * @throws IllegalArgumentException if the name is an empty string.
+     */
+    public static synchronized int intern(String name) {
+        Objects.requireNonNull(name);
+
+        if (name.equals("")) {
+            throw new IllegalArgumentException("the name cannot be empty");
+        }
+
+        Integer var = variables.get(name);
+
+        if (var == null) {
+            var = names.size();
+            variables.put(name, var);
+            names.add(name);
+            literals.add(null);
+            literals.add(null);
+        }
+
+        return var;
+    }
+
+    /**
+     * creates a new atom, whose name is the specified prefix followed by a number
+     * which is never used twice in the process, whatever the prefix, and which is
+     * skipped if that name has already been interned. So two calls never return the
+     * same atom, even if the atoms they are used for end up in the same set of clauses.
+     * the prefix should start with "_", which cannot appear in the atoms read by the
+     * parser, and which the DIMACS reader renames, so the new atom never clashes with them.
+     *
+     * @param prefix the prefix of the name of the new atom.
+     * @return the variable number of the new atom.
+     * @throws NullPointerException if the prefix is null.
+     */
+    public static synchronized int fresh(String prefix) {
+        Objects.requireNonNull(prefix);
+
+        String name = prefix + counter.getAndIncrement();
+
+        while (variables.containsKey(name)) {
+            name = prefix + counter.getAndIncrement();
+        }
+
+        return intern(name);
+    }
+
+    /**
+     * @param var a variable number returned by {@link #intern(String)}.
+     * @return the name of the atom with the specified variable number.
+     * @throws IndexOutOfBoundsException if the variable has never been interned.
+     */
+    public static synchronized String getName(int var) {
+        return names.get(var);
+    }
+
+    /**
+     * @return the number of atoms interned so far.
+     */
+    public static synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the interned Atom or NegAtom instance with the specified code.
+     * @throws IndexOutOfBoundsException if the variable of the code has never been interned.
+     */
+    public static synchronized Literal toLiteral(int code) {
+        Literal l = literals.get(code);
+
+        if (l == null) {
+            String name = names.get(variable(code));
+            l = isNegative(code) ? new NegAtom(name) : new Atom(name);
+            literals.set(code, l);
+        }
+
+        return l;
+    }
+
+    /**
+     * @param var a variable number.
+     * @return the code of the (non-negated) atom with the specified variable.
+     */
+    public static int positive(int var) {
+        return var << 1;
+    }
+
+    /**
+     * @param var a variable number.
+     * @return the code of the negated atom with the specified variable.
+     */
+    public static int negative(int var) {
+        return (var << 1) | 1;
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the code of the opposite literal.
+     */
+    public static int opposite(int code) {
+        return code ^ 1;
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the variable number of the literal.
+     */
+    public static int variable(int code) {
+        return code >>> 1;
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return true, if the code represents a negated atom.
+     */
+    public static boolean isNegative(int code) {
+        return (code & 1) != 0;
+    }
+
+    /**
+     * @param code the code of a literal.
+     * @return the string representation of the literal, e.g. "a" or "~a".
+     */
+    public static String toString(int code) {
+        return isNegative(code) ? "~" + getName(variable(code)) : getName(variable(code));
+    }
+}
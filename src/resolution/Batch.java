@@ -0,0 +1,256 @@
+package resolution;
+
+import cnf.ClauseSet;
+import cnf.PreprocessingPass;
+import cnf.Preprocessor;
+import formula.*;
+import sat.Budget;
+import sat.SatResult;
+import sat.Verdict;
+import antlr4.ParseFormula;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * this class checks many formulas in a single run of the program, one formula per line,
+ * so the JVM and the parser are started only once.
+ *
+ * The formulas are parsed, converted and checked by a pool of worker threads, and the
+ * results are printed in the order of the input, each one with the time spent on it:
+ *   "n: result (t ms)"
+ * where n is the number of the line and the result is "tautology", "not a tautology",
+ * "not a well-formed formula", "unknown", when a limit of the budget has been reached
+ * (e.g. "unknown (time limit reached)"), or "error", when the check of the line failed
+ * (e.g. "error (java.lang.StackOverflowError)"): the other lines are checked anyway.
+ * The blank lines are skipped.
+ * When the engines are raced by a {@link Portfolio}, the engine which answered first is
+ * added to the time ("n: result (t ms, cdcl)"), and the summary counts the wins of each engine.
+ * Each formula is built by its own FormulaFactory, which is released once the line has been
+ * checked; the bounded CNF cache of the subformulas (see {@link Formula#setCnfCache(CnfCache)})
+ * compares the formulas by structure, so it is still shared by the formulas with common subformulas.
+ */
+public final class Batch {
+
+    //FIELDS
+    private final int threads;
+    private final CnfTransformation transformation;
+    private final Preprocessor preprocessor; //the passes to be enabled, null if no simplification
+    private final boolean setOfSupport;
+    private final Budget budget; //the budget of each formula
+    private final EngineType[] portfolio; //the engines to be raced, null to use the resolution method
+
+    //CONSTRUCTORS
+
+    /**
+     * @param threads the number of worker threads.
+     * @param transformation the CNF transformation.
+     * @param preprocessor the preprocessor whose enabled passes are applied, null to skip the simplification.
+     * @param setOfSupport true to use the set of support for the implications.
+     * @param budget the budget of the resolution method for each formula.
+     * @param portfolio the engines to be raced on each formula, null to use the resolution method.
+     * @throws IllegalArgumentException if threads is not positive, or portfolio is empty.
+     * @throws NullPointerException if transformation or budget is null.
+     */
+    public Batch(int threads, CnfTransformation transformation, Preprocessor preprocessor, boolean setOfSupport, Budget budget,
+            EngineType[] portfolio) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("the number of threads must be positive");
+        }
+
+        this.threads = threads;
+        this.transformation = Objects.requireNonNull(transformation);
+        this.preprocessor = preprocessor;
+        this.setOfSupport = setOfSupport;
+        this.budget = new Budget(budget);
+        //the portfolio checks and copies the types
+        this.portfolio = (portfolio == null) ? null : new Portfolio(new ResolutionConfig(), portfolio).getTypes();
+    }
+
+    //METHODS
+
+    /**
+     * checks the formulas read from in, one per line, and prints the results to out.
+     * at most a few formulas per thread are waiting to be printed at any time,
+     * so the input can be arbitrarily long.
+     *
+     * @param in the reader of the formulas.
+     * @param out the stream of the results.
+     * @throws IOException if the input cannot be read.
+     */
+    public void run(BufferedReader in, PrintStream out) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        Deque<Future<String>> pending = new ArrayDeque<>(); //in input order
+        int[] totals = new int[Outcome.values().length + EngineType.values().length]; //the outcomes, then the wins
+        long start = System.nanoTime();
+
+        try {
+            String line;
+            int number = 0;
+
+            while ((line = in.readLine()) != null) {
+                number++;
+
+                if (line.trim().isEmpty()) continue;
+
+                final String formulaStr = line;
+                final int n = number;
+
+                pending.add(pool.submit(() -> this.check(n, formulaStr, totals)));
+
+                //prints the results which are ready, and waits if too many are pending
+                while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > 4 * this.threads)) {
+                    out.println(result(pending.poll()));
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                out.println(result(pending.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        synchronized (totals) {
+            out.printf("%d tautologies, %d non tautologies, %d not well-formed, %d unknown, %d errors, %.3f ms%n",
+                totals[Outcome.TAUTOLOGY.ordinal()], totals[Outcome.NOT_TAUTOLOGY.ordinal()],
+                totals[Outcome.NOT_WELL_FORMED.ordinal()], totals[Outcome.UNKNOWN.ordinal()],
+                totals[Outcome.ERROR.ordinal()], (System.nanoTime() - start) / 1e6);
+
+            if (this.portfolio != null) {
+                StringBuilder wins = new StringBuilder("wins:");
+
+                for (EngineType type : this.portfolio) {
+                    wins.append(" " + type + " " + totals[Outcome.values().length + type.ordinal()]);
+                }
+
+                out.println(wins);
+            }
+        }
+    }
+
+    /**
+     * the outcome of the check of a line.
+     */
+    private enum Outcome {
+        TAUTOLOGY("tautology"),
+        NOT_TAUTOLOGY("not a tautology"),
+        NOT_WELL_FORMED("not a well-formed formula"),
+        UNKNOWN("unknown"),
+        ERROR("error");
+
+        private final String text;
+
+        Outcome(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * checks a formula, in a worker thread. a failure of the check, such as the overflow
+     * of the stack of the parser on a deeply nested formula, is the outcome of the line.
+     *
+     * @return the line of the result.
+     */
+    private String check(int number, String formulaStr, int[] totals) {
+        long start = System.nanoTime();
+        Outcome outcome;
+        String text;
+        EngineType winner = null;
+
+        try {
+            Formula f = ParseFormula.parse(formulaStr);
+
+            if (f == null) {
+                outcome = Outcome.NOT_WELL_FORMED;
+                text = outcome.text;
+            } else {
+                PortfolioResult race = this.solveNegation(f);
+                SatResult result = race.getResult();
+
+                winner = race.getWinner();
+
+                switch (result.getVerdict()) {
+                    case SAT:
+                        outcome = Outcome.NOT_TAUTOLOGY;
+                        break;
+                    case UNSAT:
+                        outcome = Outcome.TAUTOLOGY;
+                        break;
+                    case UNKNOWN:
+                        outcome = Outcome.UNKNOWN;
+                        break;
+                    default:
+                        throw new Error("An error occurred while executing the program");
+                }
+
+                text = (outcome == Outcome.UNKNOWN) ? outcome.text + " (" + result.getLimit() + " limit reached)" : outcome.text;
+            }
+        } catch (RuntimeException | StackOverflowError e) {
+            outcome = Outcome.ERROR;
+            text = outcome.text + " (" + e + ")";
+            winner = null;
+        }
+
+        synchronized (totals) {
+            totals[outcome.ordinal()]++;
+
+            if (winner != null) totals[Outcome.values().length + winner.ordinal()]++;
+        }
+
+        String engine = (winner == null) ? "" : ", " + winner;
+
+        return String.format("%d: %s (%.3f ms%s)", number, text, (System.nanoTime() - start) / 1e6, engine);
+    }
+
+    /**
+     * @return the result of the resolution method, or of the portfolio, on the negation of f:
+     *         SAT if f is not a tautology, UNSAT if it is. the winner is null unless an engine
+     *         of the portfolio answered.
+     */
+    private PortfolioResult solveNegation(Formula f) {
+        Refutation refutation = new Refutation(f, this.transformation, this.setOfSupport);
+        ClauseSet cnf = refutation.getClauses();
+        ClauseSet support = refutation.getSupport();
+
+        if (this.preprocessor != null) {
+            //a preprocessor keeps the report of its last call, so each formula gets its own
+            Preprocessor p = new Preprocessor();
+
+            for (PreprocessingPass pass : PreprocessingPass.values()) {
+                p.setEnabled(pass, this.preprocessor.isEnabled(pass));
+            }
+
+            if (!refutation.simplify(p)) return new PortfolioResult(null, new SatResult(Verdict.UNSAT, null, 0, 0));
+            if (cnf.isEmpty()) return new PortfolioResult(null, new SatResult(Verdict.SAT, null, 0, 0));
+        }
+
+        //an engine for each formula, so the formulas are checked in parallel
+        ResolutionConfig config = new ResolutionConfig();
+        config.setBudget(this.budget);
+
+        if (this.portfolio != null) return new Portfolio(config, this.portfolio).race(cnf);
+
+        ResolutionEngine engine = new ResolutionEngine(config);
+
+        return new PortfolioResult(null, (support != null) ? engine.solve(cnf, support) : engine.solve(cnf));
+    }
+
+    private static String result(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,917 @@
+package resolution;
+
+import cnf.*;
+import literal.LiteralTable;
+import sat.BudgetTracker;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * This class implements the conflict-driven clause learning procedure (CDCL), which decides
+ * the satisfiability of a set of clauses by searching a model, and learns a new clause
+ * from each conflict found by the search.
+ *
+ * - the propagation watches two literals of each clause: a clause is visited only when
+ *      one of its watched literals becomes false, and it is then watched by another literal
+ *      not false, or it is unit, or it is false (a conflict).
+ * - from a conflict, the clause of the first unique implication point (1UIP) is learned:
+ *      it is the resolvent of the false clause with the reasons of the literals assigned at
+ *      the last decision level, and the search jumps back to the second highest level of
+ *      its literals, where it becomes unit.
+ * - the atoms are chosen by their activity (VSIDS): the atoms of the clauses involved in
+ *      the conflicts are bumped, and the activities decay over time. the value of the atom
+ *      is the last one it had (phase saving).
+ * - the search restarts after a number of conflicts given by the Luby sequence, keeping
+ *      the learned clauses, and periodically deletes half of the learned clauses, preferring
+ *      the ones with more decision levels (LBD) among their literals.
+ *
+ * Each learned clause is derived by resolution from the set, so when the set is
+ * unsatisfiable the procedure also derives the empty clause: if the tracing of the
+ * configuration is enabled, the resolution steps of this refutation are printed as
+ * {@link Step}s, including the derivations of the learned clauses it uses.
+ * The unit propagation is part of the procedure, so the corresponding setting of the
+ * configuration is ignored; each conflict is counted as a step of the budget.
+ */
+public class CdclEngine implements SatEngine {
+
+    //FIELDS
+    private static final int RESTART_UNIT = 100; //the conflicts of the shortest restart interval
+    private static final double ACTIVITY_DECAY = 0.95;
+    private static final int MIN_LEARNTS = 2000; //the learned clauses kept before the first deletion
+
+    private final ResolutionConfig config;
+
+    //the state of the current call of solve. the literals are numbered as in the
+    //LiteralTable (2v for the atom v, 2v + 1 for its negation), over the local atoms
+    private int[] codes; //local atom -> its variable in the LiteralTable
+    private int[][] clauses; //clause id -> its literals, null if the clause has been deleted
+    private int clauseCount;
+    private int originals; //the ids of the clauses of the set are the ones lower than originals
+    private IntList[] watches; //literal -> the pairs (clause id, blocker) of the clauses which watch it
+    private byte[] value; //literal -> 1 true, -1 false, 0 unassigned
+    private int[] level; //atom -> its decision level
+    private int[] reason; //atom -> the clause which implied it, -1 for the decisions
+    private int[] trail; //the true literals, in order of assignment
+    private int trailSize;
+    private int head; //the position in the trail of the next literal to propagate
+    private IntList levels; //decision level -> its position in the trail
+    private double[] activity; //atom -> its activity
+    private double increment; //the current bump of the activity
+    private boolean[] phase; //atom -> true, if its last value was true
+    private AtomHeap heap; //the unassigned atoms, by activity
+    private boolean[] seen; //atom -> true, if it is marked by the conflict analysis
+    private int[] stamps; //decision level -> the last learned clause which counted it
+    private IntList learnts;
+    private IntList lbd; //learned clause id - originals -> the decision levels of its literals
+    private int deleted;
+
+    //the derivations, only if the tracing is enabled
+    private List<int[]> bodies; //clause id -> its literals, kept after its deletion
+    private List<int[]> chains; //clause id -> its derivation (see analyze), null for the clauses of the set
+    private int[] refutation; //the derivation of the empty clause
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine with the default configuration.
+     */
+    public CdclEngine() {
+        this(new ResolutionConfig());
+    }
+
+    /**
+     * @param config the configuration of the engine, which is copied.
+     * @throws NullPointerException if config is null.
+     */
+    public CdclEngine(ResolutionConfig config) {
+        this.config = new ResolutionConfig(config);
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the CDCL procedure.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        return this.solve(s).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the configuration.
+     * the set is not modified. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result: SAT with a model, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        BudgetTracker tracker = new BudgetTracker(this.config.getBudget(), this.config.getCancellationToken());
+        boolean enableSteps = this.config.isEnableSteps();
+
+        try {
+            int conflict = this.load(s, enableSteps);
+            Verdict verdict = this.search(conflict, tracker);
+
+            if (enableSteps) {
+                if (verdict == Verdict.UNSAT) this.printRefutation();
+
+                System.out.println("CDCL: " + verdict + " after " + tracker.getSteps() + " conflicts, "
+                    + this.learnts.size() + " learned clauses kept and " + this.deleted + " deleted\n");
+            }
+
+            return (verdict == Verdict.SAT) ? new SatResult(this.model(), tracker) : new SatResult(verdict, tracker);
+        } finally {
+            //the state of a call is released, so an idle engine keeps no memory
+            this.clauses = null;
+            this.watches = null;
+            this.bodies = null;
+            this.chains = null;
+            this.refutation = null;
+        }
+    }
+
+    /**
+     * builds the state of a call from the set of clauses. the tautologies are skipped,
+     * and the literals of the unit clauses are assigned.
+     *
+     * @return the id of a unit clause whose literal is already false, -1 if there is none.
+     */
+    private int load(ClauseSet s, boolean enableSteps) {
+        Map<Integer, Integer> local = new HashMap<>(); //variable -> local atom
+        List<int[]> input = new ArrayList<>(s.size());
+
+        for (Clause c : s) {
+            int[] lits = new int[c.size()];
+
+            for (int i = 0; i < c.size(); i++) {
+                int code = c.literalAt(i);
+                Integer atom = local.get(LiteralTable.variable(code));
+
+                if (atom == null) {
+                    atom = local.size();
+                    local.put(LiteralTable.variable(code), atom);
+                }
+
+                lits[i] = 2 * atom + (LiteralTable.isNegative(code) ? 1 : 0);
+            }
+
+            //the atoms of a tautology are kept, so the model assigns every atom of the set
+            if (!c.isTautology()) input.add(lits);
+        }
+
+        int atoms = local.size();
+
+        this.codes = new int[atoms];
+
+        for (Map.Entry<Integer, Integer> e : local.entrySet()) {
+            this.codes[e.getValue()] = e.getKey();
+        }
+
+        this.clauses = input.toArray(new int[Math.max(16, input.size())][]);
+        this.clauseCount = input.size();
+        this.originals = input.size();
+        this.watches = new IntList[2 * atoms];
+        this.value = new byte[2 * atoms];
+        this.level = new int[atoms];
+        this.reason = new int[atoms];
+        this.trail = new int[atoms];
+        this.trailSize = 0;
+        this.head = 0;
+        this.levels = new IntList();
+        this.activity = new double[atoms];
+        this.increment = 1;
+        this.phase = new boolean[atoms];
+        this.heap = new AtomHeap(this.activity);
+        this.seen = new boolean[atoms];
+        this.stamps = new int[atoms + 1];
+        this.learnts = new IntList();
+        this.lbd = new IntList();
+        this.deleted = 0;
+        this.bodies = enableSteps ? new ArrayList<>(input) : null;
+        this.chains = enableSteps ? new ArrayList<>() : null;
+        this.refutation = null;
+
+        for (int l = 0; l < 2 * atoms; l++) {
+            this.watches[l] = new IntList();
+        }
+
+        for (int v = 0; v < atoms; v++) {
+            this.reason[v] = -1;
+            this.heap.insert(v);
+        }
+
+        int conflict = -1;
+
+        for (int id = 0; id < this.originals; id++) {
+            int[] lits = input.get(id);
+
+            if (enableSteps) this.chains.add(null);
+
+            if (lits.length == 0) {
+                //the set contains the empty clause: the refutation has no steps
+                this.refutation = new int[] { id };
+                return id;
+            } else if (lits.length == 1) {
+                if (this.value[lits[0]] == 0) {
+                    this.enqueue(lits[0], id);
+                } else if (this.value[lits[0]] < 0) {
+                    conflict = id;
+                }
+            } else {
+                this.watch(lits, id);
+            }
+        }
+
+        return conflict;
+    }
+
+    /**
+     * the search loop.
+     *
+     * @param conflict a clause false at the level 0, -1 if there is none.
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict search(int conflict, BudgetTracker tracker) {
+        if (this.refutation != null) return Verdict.UNSAT;
+
+        int restarts = 0;
+        long restartLimit = RESTART_UNIT;
+        long conflictsSinceRestart = 0;
+        double maxLearnts = Math.max(MIN_LEARNTS, this.originals / 3.0);
+
+        while (true) {
+            if (conflict < 0) conflict = this.propagate();
+
+            if (conflict >= 0) {
+                if (this.levels.size() == 0) {
+                    if (this.chains != null) this.refutation = this.analyzeFinal(conflict);
+                    return Verdict.UNSAT;
+                }
+
+                if (tracker.step(this.clauseCount - this.deleted) != null) return Verdict.UNKNOWN;
+
+                this.analyze(conflict);
+                conflict = -1;
+                conflictsSinceRestart++;
+                this.increment /= ACTIVITY_DECAY;
+                continue;
+            }
+
+            if (conflictsSinceRestart >= restartLimit) {
+                this.backtrack(0);
+                restarts++;
+                restartLimit = (long) (luby(2, restarts) * RESTART_UNIT);
+                conflictsSinceRestart = 0;
+            }
+
+            if (this.learnts.size() - this.trailSize >= maxLearnts) {
+                this.reduce();
+                maxLearnts *= 1.1;
+            }
+
+            int next = this.pickBranch();
+
+            if (next < 0) return Verdict.SAT;
+
+            this.levels.add(this.trailSize);
+            this.enqueue(next, -1);
+        }
+    }
+
+    /**
+     * makes a literal true at the current decision level.
+     *
+     * @param l the literal.
+     * @param id the clause which implies it, -1 for a decision.
+     */
+    private void enqueue(int l, int id) {
+        this.value[l] = 1;
+        this.value[l ^ 1] = -1;
+        this.level[l >> 1] = this.levels.size();
+        this.reason[l >> 1] = id;
+        this.trail[this.trailSize++] = l;
+    }
+
+    /**
+     * adds a clause to the lists of its first two literals, each with the other as blocker.
+     */
+    private void watch(int[] lits, int id) {
+        this.watches[lits[0]].add(id);
+        this.watches[lits[0]].add(lits[1]);
+        this.watches[lits[1]].add(id);
+        this.watches[lits[1]].add(lits[0]);
+    }
+
+    /**
+     * propagates the literals of the trail not yet propagated, visiting the clauses which
+     * watch their opposites. the literal implied by a clause is its first one.
+     *
+     * @return the id of a false clause, -1 if there is none.
+     */
+    private int propagate() {
+        while (this.head < this.trailSize) {
+            int falseLit = this.trail[this.head++] ^ 1;
+            IntList ws = this.watches[falseLit];
+            int n = ws.size();
+            int i = 0;
+            int j = 0;
+
+            while (i < n) {
+                int id = ws.get(i);
+                int blocker = ws.get(i + 1);
+
+                i += 2;
+
+                //a true blocker, another literal of the clause, saves the visit of the clause
+                if (this.value[blocker] > 0) {
+                    ws.set(j++, id);
+                    ws.set(j++, blocker);
+                    continue;
+                }
+
+                int[] lits = this.clauses[id];
+
+                if (lits == null) continue; //the clause has been deleted
+
+                //the false literal is moved to the second position
+                if (lits[0] == falseLit) {
+                    lits[0] = lits[1];
+                    lits[1] = falseLit;
+                }
+
+                if (this.value[lits[0]] > 0) {
+                    ws.set(j++, id);
+                    ws.set(j++, lits[0]);
+                    continue;
+                }
+
+                boolean moved = false;
+
+                for (int k = 2; k < lits.length; k++) {
+                    if (this.value[lits[k]] >= 0) {
+                        lits[1] = lits[k];
+                        lits[k] = falseLit;
+                        this.watches[lits[1]].add(id);
+                        this.watches[lits[1]].add(lits[0]);
+                        moved = true;
+                        break;
+                    }
+                }
+
+                if (moved) continue;
+
+                ws.set(j++, id);
+                ws.set(j++, lits[0]);
+
+                if (this.value[lits[0]] < 0) {
+                    while (i < n) ws.set(j++, ws.get(i++));
+
+                    ws.shrink(j);
+                    this.head = this.trailSize;
+
+                    return id;
+                }
+
+                this.enqueue(lits[0], id);
+            }
+
+            ws.shrink(j);
+        }
+
+        return -1;
+    }
+
+    /**
+     * learns the 1UIP clause of a conflict, jumps back to the level where it is unit
+     * and assigns its first literal.
+     *
+     * the derivation of the clause, recorded if the tracing is enabled, is the id of the
+     * false clause followed by pairs (t, id): the literal t, whose opposite is in the current
+     * resolvent, is removed by resolution with the clause id, its reason.
+     */
+    private void analyze(int conflict) {
+        int current = this.levels.size();
+        IntList learnt = new IntList();
+        IntList chain = (this.chains != null) ? new IntList() : null;
+        int pending = 0;
+        int p = -1;
+        int index = this.trailSize - 1;
+        int id = conflict;
+
+        learnt.add(-1); //the place of the asserting literal
+
+        if (chain != null) chain.add(conflict);
+
+        do {
+            int[] lits = this.clauses[id];
+
+            //the first literal of a reason is the one it implied, p
+            for (int k = (p < 0) ? 0 : 1; k < lits.length; k++) {
+                int v = lits[k] >> 1;
+
+                if (this.seen[v]) continue;
+
+                if (this.level[v] > 0) {
+                    this.seen[v] = true;
+                    this.bump(v);
+
+                    if (this.level[v] == current) {
+                        pending++;
+                    } else {
+                        learnt.add(lits[k]);
+                    }
+                } else if (chain != null) {
+                    //removed by the resolutions with the reasons of the level 0
+                    this.seen[v] = true;
+                }
+            }
+
+            while (!this.seen[this.trail[index] >> 1]) index--;
+
+            p = this.trail[index--];
+            id = this.reason[p >> 1];
+            this.seen[p >> 1] = false;
+            pending--;
+
+            if (pending > 0 && chain != null) {
+                chain.add(p);
+                chain.add(id);
+            }
+        } while (pending > 0);
+
+        learnt.set(0, p ^ 1);
+
+        //the literal of the highest level after the asserting one is watched too
+        int jump = 0;
+
+        for (int k = 1; k < learnt.size(); k++) {
+            int v = learnt.get(k) >> 1;
+
+            this.seen[v] = false;
+
+            if (this.level[v] > jump) {
+                int l = learnt.get(k);
+
+                jump = this.level[v];
+                learnt.set(k, learnt.get(1));
+                learnt.set(1, l);
+            }
+        }
+
+        if (chain != null) this.removeRootLiterals(chain, this.rootSize());
+
+        int[] lits = learnt.toArray();
+        int count = this.countLevels(lits);
+
+        this.backtrack(jump);
+
+        int learntId = this.clauseCount;
+
+        if (learntId == this.clauses.length) this.clauses = Arrays.copyOf(this.clauses, 2 * learntId);
+
+        this.clauses[this.clauseCount++] = lits;
+
+        if (this.chains != null) {
+            this.bodies.add(lits);
+            this.chains.add(chain.toArray());
+        }
+
+        if (lits.length > 1) {
+            this.watch(lits, learntId);
+            this.learnts.add(learntId);
+        }
+
+        this.lbd.add(count);
+        this.enqueue(lits[0], learntId);
+    }
+
+    /**
+     * @return the derivation of the empty clause from a clause false at the level 0.
+     */
+    private int[] analyzeFinal(int conflict) {
+        IntList chain = new IntList();
+
+        chain.add(conflict);
+
+        for (int l : this.clauses[conflict]) {
+            this.seen[l >> 1] = true;
+        }
+
+        this.removeRootLiterals(chain, this.trailSize);
+
+        return chain.toArray();
+    }
+
+    /**
+     * appends to a derivation the resolutions which remove the marked literals assigned at
+     * the level 0, in reverse order of assignment: the reason of a literal only contains
+     * literals assigned before it, so no removed literal is introduced again.
+     *
+     * @param chain the derivation.
+     * @param end the number of literals of the trail assigned at the level 0.
+     */
+    private void removeRootLiterals(IntList chain, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            int t = this.trail[i];
+
+            if (!this.seen[t >> 1]) continue;
+
+            int id = this.reason[t >> 1];
+            int[] lits = this.clauses[id];
+
+            this.seen[t >> 1] = false;
+            chain.add(t);
+            chain.add(id);
+
+            for (int k = 1; k < lits.length; k++) {
+                this.seen[lits[k] >> 1] = true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of literals of the trail assigned at the level 0.
+     */
+    private int rootSize() {
+        return (this.levels.size() == 0) ? this.trailSize : this.levels.get(0);
+    }
+
+    /**
+     * @return the number of distinct decision levels of the literals (LBD).
+     */
+    private int countLevels(int[] lits) {
+        int stamp = this.clauseCount + 1;
+        int count = 0;
+
+        for (int l : lits) {
+            int lv = this.level[l >> 1];
+
+            if (this.stamps[lv] != stamp) {
+                this.stamps[lv] = stamp;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * undoes the assignments of the levels higher than the specified one.
+     */
+    private void backtrack(int target) {
+        if (this.levels.size() <= target) return;
+
+        int position = this.levels.get(target);
+
+        for (int i = this.trailSize - 1; i >= position; i--) {
+            int l = this.trail[i];
+            int v = l >> 1;
+
+            this.phase[v] = (l & 1) == 0;
+            this.value[l] = 0;
+            this.value[l ^ 1] = 0;
+            this.reason[v] = -1;
+
+            if (!this.heap.contains(v)) this.heap.insert(v);
+        }
+
+        this.trailSize = position;
+        this.head = position;
+        this.levels.shrink(target);
+    }
+
+    /**
+     * @return the unassigned atom with the highest activity, with its saved value.
+     *         -1, if every atom is assigned.
+     */
+    private int pickBranch() {
+        while (!this.heap.isEmpty()) {
+            int v = this.heap.removeMax();
+
+            if (this.value[2 * v] == 0) return this.phase[v] ? 2 * v : 2 * v + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * increases the activity of an atom.
+     */
+    private void bump(int v) {
+        this.activity[v] += this.increment;
+
+        if (this.activity[v] > 1e100) {
+            //the activities are scaled, keeping their order
+            for (int u = 0; u < this.activity.length; u++) {
+                this.activity[u] *= 1e-100;
+            }
+
+            this.increment *= 1e-100;
+        }
+
+        if (this.heap.contains(v)) this.heap.increase(v);
+    }
+
+    /**
+     * deletes half of the learned clauses, the ones with more decision levels among their
+     * literals. the binary clauses, the clauses with at most two levels and the reasons of
+     * the current assignments are kept.
+     */
+    private void reduce() {
+        Integer[] ids = new Integer[this.learnts.size()];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = this.learnts.get(i);
+        }
+
+        Arrays.sort(ids, (a, b) -> Integer.compare(this.lbd.get(b - this.originals), this.lbd.get(a - this.originals)));
+
+        int limit = ids.length / 2;
+        int removed = 0;
+
+        this.learnts.shrink(0);
+
+        for (int id : ids) {
+            int[] lits = this.clauses[id];
+            boolean locked = this.reason[lits[0] >> 1] == id && this.value[lits[0]] > 0;
+
+            if (removed < limit && lits.length > 2 && this.lbd.get(id - this.originals) > 2 && !locked) {
+                this.clauses[id] = null;
+                removed++;
+            } else {
+                this.learnts.add(id);
+            }
+        }
+
+        this.deleted += removed;
+
+        for (IntList ws : this.watches) {
+            int j = 0;
+
+            for (int i = 0; i < ws.size(); i += 2) {
+                if (this.clauses[ws.get(i)] != null) {
+                    ws.set(j++, ws.get(i));
+                    ws.set(j++, ws.get(i + 1));
+                }
+            }
+
+            ws.shrink(j);
+        }
+    }
+
+    /**
+     * @return the codes of the true literals of the current assignment.
+     */
+    private int[] model() {
+        int[] res = new int[this.codes.length];
+
+        for (int v = 0; v < this.codes.length; v++) {
+            res[v] = (this.value[2 * v] > 0) ? LiteralTable.positive(this.codes[v]) : LiteralTable.negative(this.codes[v]);
+        }
+
+        return res;
+    }
+
+    /**
+     * prints the resolution steps deriving the empty clause: the derivations of the
+     * learned clauses used by the refutation, in the order they have been learned,
+     * followed by the derivation of the empty clause.
+     */
+    private void printRefutation() {
+        //the learned clauses used, found from the refutation backwards
+        TreeMap<Integer, int[]> used = new TreeMap<>();
+        List<int[]> pending = new ArrayList<>();
+
+        pending.add(this.refutation);
+
+        while (!pending.isEmpty()) {
+            int[] chain = pending.remove(pending.size() - 1);
+
+            for (int k = 0; k < chain.length; k += (k == 0) ? 1 : 2) {
+                int id = (k == 0) ? chain[0] : chain[k + 1];
+
+                if (id >= this.originals && !used.containsKey(id)) {
+                    used.put(id, this.chains.get(id));
+                    pending.add(this.chains.get(id));
+                }
+            }
+        }
+
+        List<Step> trace = new ArrayList<>();
+        Map<Integer, Clause> derived = new HashMap<>();
+
+        for (Map.Entry<Integer, int[]> e : used.entrySet()) {
+            derived.put(e.getKey(), this.replay(e.getValue(), derived, trace));
+        }
+
+        this.replay(this.refutation, derived, trace);
+
+        for (Step st : trace) {
+            System.out.println(st.toString());
+        }
+    }
+
+    /**
+     * performs the resolutions of a derivation, adding a step for each of them.
+     *
+     * @param chain the derivation.
+     * @param derived the learned clauses already derived, by id.
+     * @param trace the steps performed.
+     * @return the clause derived.
+     */
+    private Clause replay(int[] chain, Map<Integer, Clause> derived, List<Step> trace) {
+        Clause res = this.clauseOf(chain[0], derived);
+
+        for (int k = 1; k < chain.length; k += 2) {
+            Clause premise = this.clauseOf(chain[k + 1], derived);
+            int code = this.codeOf(chain[k] ^ 1);
+            Clause conclusion = res.resolve(premise, code);
+
+            trace.add(new Step(trace.size() + 1, res, premise, conclusion, LiteralTable.toLiteral(code)));
+            res = conclusion;
+        }
+
+        return res;
+    }
+
+    private Clause clauseOf(int id, Map<Integer, Clause> derived) {
+        if (id >= this.originals) return derived.get(id);
+
+        int[] lits = this.bodies.get(id);
+        int[] res = new int[lits.length];
+
+        for (int k = 0; k < lits.length; k++) {
+            res[k] = this.codeOf(lits[k]);
+        }
+
+        return Clause.of(res);
+    }
+
+    /**
+     * @return the code in the LiteralTable of a local literal.
+     */
+    private int codeOf(int l) {
+        return ((l & 1) == 0) ? LiteralTable.positive(this.codes[l >> 1]) : LiteralTable.negative(this.codes[l >> 1]);
+    }
+
+    /**
+     * @return the element of index i of the Luby sequence 1, 1, 2, 1, 1, 2, 4, ...
+     *         with the powers of y instead of the powers of 2.
+     */
+    private static double luby(double y, int i) {
+        int size = 1;
+        int seq = 0;
+
+        while (size < i + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+
+        while (size - 1 != i) {
+            size = (size - 1) >> 1;
+            seq--;
+            i = i % size;
+        }
+
+        return Math.pow(y, seq);
+    }
+
+    /**
+     * a growing list of ints.
+     */
+    private static final class IntList {
+        private int[] items = new int[4];
+        private int size;
+
+        void add(int x) {
+            if (this.size == this.items.length) this.items = Arrays.copyOf(this.items, 2 * this.size);
+
+            this.items[this.size++] = x;
+        }
+
+        int get(int i) {
+            return this.items[i];
+        }
+
+        void set(int i, int x) {
+            this.items[i] = x;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * keeps the first n elements.
+         */
+        void shrink(int n) {
+            this.size = n;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.items, this.size);
+        }
+    }
+
+    /**
+     * a binary max-heap of atoms, ordered by their activity.
+     */
+    private static final class AtomHeap {
+        private final double[] activity;
+        private final int[] heap;
+        private final int[] positions; //atom -> its position in the heap, -1 if it is not in the heap
+        private int size;
+
+        AtomHeap(double[] activity) {
+            this.activity = activity;
+            this.heap = new int[activity.length];
+            this.positions = new int[activity.length];
+            Arrays.fill(this.positions, -1);
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        boolean contains(int v) {
+            return this.positions[v] >= 0;
+        }
+
+        void insert(int v) {
+            this.heap[this.size] = v;
+            this.positions[v] = this.size;
+            this.size++;
+            this.up(this.positions[v]);
+        }
+
+        /**
+         * restores the order after the activity of an atom in the heap has increased.
+         */
+        void increase(int v) {
+            this.up(this.positions[v]);
+        }
+
+        int removeMax() {
+            int top = this.heap[0];
+
+            this.size--;
+            this.positions[top] = -1;
+
+            if (this.size > 0) {
+                this.heap[0] = this.heap[this.size];
+                this.positions[this.heap[0]] = 0;
+                this.down(0);
+            }
+
+            return top;
+        }
+
+        private void up(int i) {
+            int v = this.heap[i];
+
+            while (i > 0 && this.activity[this.heap[(i - 1) / 2]] < this.activity[v]) {
+                this.heap[i] = this.heap[(i - 1) / 2];
+                this.positions[this.heap[i]] = i;
+                i = (i - 1) / 2;
+            }
+
+            this.heap[i] = v;
+            this.positions[v] = i;
+        }
+
+        private void down(int i) {
+            int v = this.heap[i];
+
+            while (2 * i + 1 < this.size) {
+                int child = 2 * i + 1;
+
+                if (child + 1 < this.size && this.activity[this.heap[child + 1]] > this.activity[this.heap[child]]) child++;
+
+                if (this.activity[this.heap[child]] <= this.activity[v]) break;
+
+                this.heap[i] = this.heap[child];
+                this.positions[this.heap[i]] = i;
+                i = child;
+            }
+
+            this.heap[i] = v;
+            this.positions[v] = i;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package resolution;
+
+import cnf.Clause;
+import literal.LiteralTable;
+
+/**
+ * This enumeration represents the heuristics used by the given-clause
+ * resolution method to choose the next clause to be processed.
+ *
+ * @see GivenClauseResolution
+ */
+public enum ClauseSelection {
+    SMALLEST,          //the clause with the fewest symbols (a negation counts as a symbol)
+    FEWEST_LITERALS,   //the clause with the fewest literals
+    AGE_WEIGHT;        //alternates the oldest clause and the smallest one, with a given ratio
+
+
+    /**
+     * @param c a clause.
+     * @return the weight of the clause for this heuristic: clauses with a lower
+     *         weight are selected first, and among equal weights the oldest one.
+     */
+    int weight(Clause c) {
+        if (this == FEWEST_LITERALS) {
+            return c.size();
+        }
+
+        int w = c.size();
+
+        for (int i = 0; i < c.size(); i++) {
+            if (LiteralTable.isNegative(c.literalAt(i))) w++;
+        }
+
+        return w;
+    }
+}
@@ -0,0 +1,307 @@
+package resolution;
+
+import cnf.*;
+import literal.LiteralTable;
+import sat.BudgetTracker;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class implements the Davis-Putnam procedure, which decides the satisfiability of a
+ * set of clauses by eliminating its atoms one at a time with the resolution rule.
+ *
+ * To eliminate an atom, all the clauses containing it are replaced by all their resolvents
+ * on that atom: the new set is satisfiable if and only if the old one is. The atom with the
+ * lowest product of the numbers of positive and negative occurrences is eliminated first,
+ * since it produces the fewest resolvents (the pure atoms produce none). The tautologies are
+ * discarded, and each resolvent is checked for subsumption against the set before the next
+ * elimination, as in {@link ResolutionEngine}. The set is unsatisfiable if the empty clause
+ * is derived, satisfiable if all the clauses are eliminated: in this case a model is built
+ * by assigning the eliminated atoms in reverse order, each one so that its clauses are true.
+ *
+ * Unlike the resolution method, each pair of clauses is resolved on a single atom, once,
+ * so the work is bounded by the occurrences of each atom, and it is small on structured
+ * sets whose atoms can be eliminated without producing many resolvents.
+ * If the tracing of the configuration is enabled, the resolution steps are printed as
+ * {@link Step}s. The unit propagation setting of the configuration is ignored; each
+ * resolvent is counted as a step of the budget.
+ */
+public class DavisPutnamEngine implements SatEngine {
+
+    //FIELDS
+    private final ResolutionConfig config;
+
+    //the state of the current call of solve
+    private OccurrenceIndex occurrences;
+    private SubsumptionIndex subsumption;
+    private PriorityQueue<long[]> queue; //pairs (product, variable), possibly outdated
+    private List<Step> trace;
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine with the default configuration.
+     */
+    public DavisPutnamEngine() {
+        this(new ResolutionConfig());
+    }
+
+    /**
+     * @param config the configuration of the engine, which is copied.
+     * @throws NullPointerException if config is null.
+     */
+    public DavisPutnamEngine(ResolutionConfig config) {
+        this.config = new ResolutionConfig(config);
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the Davis-Putnam procedure.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        return this.solve(s).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the configuration.
+     * the set is not modified. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result: SAT with a model, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        BudgetTracker tracker = new BudgetTracker(this.config.getBudget(), this.config.getCancellationToken());
+        boolean enableSteps = this.config.isEnableSteps();
+        List<Integer> eliminated = new ArrayList<>(); //the eliminated variables, in order
+        List<List<Clause>> removed = new ArrayList<>(); //the clauses removed with each of them
+        List<Integer> variables = new ArrayList<>(); //the variables of the set
+
+        this.occurrences = new OccurrenceIndex();
+        this.subsumption = new SubsumptionIndex();
+        this.queue = new PriorityQueue<>((a, b) -> (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.trace = enableSteps ? new ArrayList<>() : null;
+
+        try {
+            Set<Integer> found = new HashSet<>();
+
+            for (Clause c : s) {
+                for (int i = 0; i < c.size(); i++) {
+                    int var = LiteralTable.variable(c.literalAt(i));
+
+                    if (found.add(var)) variables.add(var);
+                }
+
+                if (c.isEmpty()) return this.finish(Verdict.UNSAT, tracker, null);
+
+                //a clause of the input may be subsumed by a clause of the input already added
+                if (!c.isTautology() && this.subsumption.findSubsumer(c) == null) this.addClause(c, null);
+            }
+
+            for (int var : variables) {
+                this.schedule(var);
+            }
+
+            while (this.subsumption.size() > 0) {
+                long[] next = this.queue.poll();
+                int var = (int) next[1];
+
+                //the outdated pairs are skipped
+                if (next[0] != this.product(var) || this.count(var) == 0) continue;
+
+                List<Clause> positives = new ArrayList<>(this.occurrences.get(LiteralTable.positive(var)));
+                List<Clause> negatives = new ArrayList<>(this.occurrences.get(LiteralTable.negative(var)));
+                List<Clause> clauses = new ArrayList<>(positives);
+
+                clauses.addAll(negatives);
+                eliminated.add(var);
+                removed.add(clauses);
+
+                for (Clause c : clauses) {
+                    this.removeClause(c);
+                }
+
+                for (Clause p : positives) {
+                    for (Clause n : negatives) {
+                        if (tracker.step(this.subsumption.size()) != null) return this.finish(Verdict.UNKNOWN, tracker, null);
+
+                        Clause resolvent = p.resolve(n, LiteralTable.positive(var));
+                        Step step = null;
+
+                        if (enableSteps) {
+                            step = new Step(this.trace.size() + 1, p, n, resolvent, LiteralTable.toLiteral(LiteralTable.positive(var)));
+                            this.trace.add(step);
+                        }
+
+                        if (resolvent.isEmpty()) return this.finish(Verdict.UNSAT, tracker, null);
+
+                        if (resolvent.isTautology()) {
+                            if (enableSteps) step.setTautology();
+                            continue;
+                        }
+
+                        Clause subsumer = this.subsumption.findSubsumer(resolvent);
+
+                        if (subsumer != null) {
+                            if (enableSteps) {
+                                if (subsumer.equals(resolvent)) {
+                                    step.setAlreadyPresent();
+                                } else {
+                                    step.setSubsumed(subsumer);
+                                }
+                            }
+
+                            continue;
+                        }
+
+                        this.addClause(resolvent, step);
+                    }
+                }
+            }
+
+            return this.finish(Verdict.SAT, tracker, this.model(variables, eliminated, removed));
+        } finally {
+            //the state of a call is released, so an idle engine keeps no memory
+            this.occurrences = null;
+            this.subsumption = null;
+            this.queue = null;
+            this.trace = null;
+        }
+    }
+
+    /**
+     * adds a clause to the set, removing the clauses it subsumes.
+     *
+     * @param c the clause, not subsumed by the clauses of the set.
+     * @param step the step which derived the clause, null if it is a clause of the input
+     *             or the tracing is disabled.
+     */
+    private void addClause(Clause c, Step step) {
+        List<Clause> retired = this.subsumption.findSubsumed(c);
+
+        for (Clause d : retired) {
+            this.removeClause(d);
+        }
+
+        if (step != null && !retired.isEmpty()) step.setRetired(retired);
+
+        this.occurrences.add(c);
+        this.subsumption.add(c);
+
+        for (int i = 0; i < c.size(); i++) {
+            this.schedule(LiteralTable.variable(c.literalAt(i)));
+        }
+    }
+
+    /**
+     * removes a clause from the set. its atoms have fewer occurrences, so they are scheduled again.
+     */
+    private void removeClause(Clause c) {
+        this.occurrences.remove(c);
+        this.subsumption.remove(c);
+
+        for (int i = 0; i < c.size(); i++) {
+            this.schedule(LiteralTable.variable(c.literalAt(i)));
+        }
+    }
+
+    /**
+     * adds to the queue the current product of a variable, if it occurs in the set.
+     */
+    private void schedule(int var) {
+        if (this.count(var) > 0) this.queue.add(new long[] { this.product(var), var });
+    }
+
+    /**
+     * @return the product of the numbers of positive and negative occurrences of a variable.
+     */
+    private long product(int var) {
+        return (long) this.occurrences.count(LiteralTable.positive(var)) * this.occurrences.count(LiteralTable.negative(var));
+    }
+
+    /**
+     * @return the number of occurrences of a variable.
+     */
+    private int count(int var) {
+        return this.occurrences.count(LiteralTable.positive(var)) + this.occurrences.count(LiteralTable.negative(var));
+    }
+
+    /**
+     * builds a model by assigning the eliminated variables in reverse order: a variable is
+     * true if one of its positive clauses is false without it. the clauses of a variable only
+     * contain variables eliminated after it, which are already assigned.
+     *
+     * @return the codes of the true literals, one for each variable of the set.
+     */
+    private int[] model(List<Integer> variables, List<Integer> eliminated, List<List<Clause>> removed) {
+        Set<Integer> trueVariables = new HashSet<>();
+
+        for (int k = eliminated.size() - 1; k >= 0; k--) {
+            int var = eliminated.get(k);
+
+            for (Clause c : removed.get(k)) {
+                if (c.contains(LiteralTable.positive(var)) && !this.isTrue(c, trueVariables, var)) {
+                    trueVariables.add(var);
+                    break;
+                }
+            }
+        }
+
+        int[] res = new int[variables.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            int var = variables.get(i);
+
+            res[i] = trueVariables.contains(var) ? LiteralTable.positive(var) : LiteralTable.negative(var);
+        }
+
+        return res;
+    }
+
+    /**
+     * @return true, if a literal of the clause, on a variable other than skipVar, is true.
+     */
+    private boolean isTrue(Clause c, Set<Integer> trueVariables, int skipVar) {
+        for (int i = 0; i < c.size(); i++) {
+            int code = c.literalAt(i);
+            int var = LiteralTable.variable(code);
+
+            if (var != skipVar && trueVariables.contains(var) != LiteralTable.isNegative(code)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * prints the trace and the summary of the call, if the tracing is enabled.
+     *
+     * @return the result of the call.
+     */
+    private SatResult finish(Verdict verdict, BudgetTracker tracker, int[] model) {
+        if (this.trace != null) {
+            for (Step st : this.trace) {
+                System.out.println(st.toString());
+            }
+
+            System.out.println("Davis-Putnam: " + verdict + " after " + tracker.getSteps() + " resolvents\n");
+        }
+
+        return (model != null) ? new SatResult(model, tracker) : new SatResult(verdict, tracker);
+    }
+}
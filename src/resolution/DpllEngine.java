@@ -0,0 +1,400 @@
+package resolution;
+
+import cnf.*;
+import literal.LiteralTable;
+import sat.BudgetTracker;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements the DPLL procedure (Davis-Putnam-Logemann-Loveland), which decides
+ * the satisfiability of a set of clauses by searching a model instead of saturating the set.
+ *
+ * The procedure assigns the atoms one at a time: the literals of the unit clauses are
+ * propagated, the pure literals (whose opposite occurs in no clause still to be satisfied)
+ * are made true, and otherwise a literal is chosen by the branching heuristic (the literal
+ * with the most occurrences in the clauses still to be satisfied) and made true. When a
+ * clause becomes false, the last choice not yet reversed is reversed, and the assignments
+ * made after it are undone. The set is satisfiable if all the clauses become true,
+ * unsatisfiable if a conflict is found when every choice has been reversed.
+ *
+ * The search is iterative and keeps, for each clause, the number of its true and false
+ * literals, so the memory used is linear in the size of the set. When the set is
+ * satisfiable, the result contains the model found.
+ * The unit propagation is part of the procedure, so the corresponding setting of the
+ * configuration is ignored; each decision is counted as a step of the budget.
+ */
+public class DpllEngine implements SatEngine {
+
+    //FIELDS
+    private final ResolutionConfig config;
+
+    //the state of the current call of solve. the literals are numbered as in the
+    //LiteralTable (2v for the atom v, 2v + 1 for its negation), over the local atoms
+    private int[] codes; //local atom -> its variable in the LiteralTable
+    private int[][] clauses; //the local literals of each clause
+    private int[][] occurrences; //local literal -> the clauses containing it
+    private int[] trueCount; //clause -> the number of its true literals
+    private int[] falseCount; //clause -> the number of its false literals
+    private int[] active; //local literal -> the number of clauses not yet true containing it
+    private byte[] value; //local atom -> 0 unassigned, 1 true, 2 false
+    private int unsatisfied; //the number of clauses not yet true
+    private boolean conflict;
+    private int[] trail; //the true literals, in order of assignment
+    private int trailSize;
+    private IntQueue units; //the clauses which may have become unit
+    private IntQueue pures; //the literals which may have become pure
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine with the default configuration.
+     */
+    public DpllEngine() {
+        this(new ResolutionConfig());
+    }
+
+    /**
+     * @param config the configuration of the engine, which is copied.
+     * @throws NullPointerException if config is null.
+     */
+    public DpllEngine(ResolutionConfig config) {
+        this.config = new ResolutionConfig(config);
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the DPLL procedure.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        return this.solve(s).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the configuration.
+     * the set is not modified. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result: SAT with a model, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        BudgetTracker tracker = new BudgetTracker(this.config.getBudget(), this.config.getCancellationToken());
+
+        try {
+            this.load(s);
+
+            Verdict verdict = this.search(tracker);
+
+            if (this.config.isEnableSteps()) {
+                System.out.println("DPLL: " + verdict + " after " + tracker.getSteps() + " decisions\n");
+            }
+
+            return (verdict == Verdict.SAT) ? new SatResult(this.model(), tracker) : new SatResult(verdict, tracker);
+        } finally {
+            //the state of a call is released, so an idle engine keeps no memory
+            this.clauses = null;
+            this.occurrences = null;
+            this.trail = null;
+        }
+    }
+
+    /**
+     * builds the state of a call from the set of clauses. the tautologies are skipped.
+     */
+    private void load(ClauseSet s) {
+        Map<Integer, Integer> local = new HashMap<>(); //variable -> local atom
+        int n = 0;
+
+        this.clauses = new int[s.size()][];
+
+        for (Clause c : s) {
+            int[] lits = new int[c.size()];
+
+            for (int i = 0; i < c.size(); i++) {
+                int code = c.literalAt(i);
+                Integer atom = local.get(LiteralTable.variable(code));
+
+                if (atom == null) {
+                    atom = local.size();
+                    local.put(LiteralTable.variable(code), atom);
+                }
+
+                lits[i] = 2 * atom + (LiteralTable.isNegative(code) ? 1 : 0);
+            }
+
+            //the atoms of a tautology are kept, so the model assigns every atom of the set
+            if (!c.isTautology()) this.clauses[n++] = lits;
+        }
+
+        this.clauses = Arrays.copyOf(this.clauses, n);
+        this.codes = new int[local.size()];
+
+        for (Map.Entry<Integer, Integer> e : local.entrySet()) {
+            this.codes[e.getValue()] = e.getKey();
+        }
+
+        int atoms = this.codes.length;
+        int[] counts = new int[2 * atoms];
+
+        for (int[] c : this.clauses) {
+            for (int l : c) counts[l]++;
+        }
+
+        this.occurrences = new int[2 * atoms][];
+
+        for (int l = 0; l < 2 * atoms; l++) {
+            this.occurrences[l] = new int[counts[l]];
+        }
+
+        for (int k = 0; k < n; k++) {
+            for (int l : this.clauses[k]) {
+                this.occurrences[l][--counts[l]] = k;
+            }
+        }
+
+        this.trueCount = new int[n];
+        this.falseCount = new int[n];
+        this.active = new int[2 * atoms];
+        this.value = new byte[atoms];
+        this.unsatisfied = n;
+        this.conflict = false;
+        this.trail = new int[atoms];
+        this.trailSize = 0;
+        this.units = new IntQueue();
+        this.pures = new IntQueue();
+
+        for (int l = 0; l < 2 * atoms; l++) {
+            this.active[l] = this.occurrences[l].length;
+        }
+
+        for (int k = 0; k < n; k++) {
+            if (this.clauses[k].length == 0) this.conflict = true;
+            if (this.clauses[k].length == 1) this.units.add(k);
+        }
+
+        for (int l = 0; l < 2 * atoms; l++) {
+            if (this.active[l] > 0 && this.active[l ^ 1] == 0) this.pures.add(l);
+        }
+    }
+
+    /**
+     * the search loop, with chronological backtracking.
+     *
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict search(BudgetTracker tracker) {
+        int atoms = this.codes.length;
+        int[] decisions = new int[atoms + 1]; //the position in the trail of each decision
+        boolean[] flipped = new boolean[atoms + 1]; //true, if the decision has already been reversed
+        int level = 0;
+
+        while (true) {
+            this.propagate();
+
+            if (this.conflict) {
+                //reverses the last decision not yet reversed
+                while (level > 0 && flipped[level]) level--;
+
+                if (level == 0) return Verdict.UNSAT;
+
+                int decision = this.trail[decisions[level]];
+
+                this.undo(decisions[level]);
+                flipped[level] = true;
+                this.assign(decision ^ 1);
+                continue;
+            }
+
+            if (this.unsatisfied == 0) return Verdict.SAT;
+
+            if (tracker.step(this.clauses.length) != null) return Verdict.UNKNOWN;
+
+            level++;
+            decisions[level] = this.trailSize;
+            flipped[level] = false;
+            this.assign(this.branch());
+        }
+    }
+
+    /**
+     * propagates the unit clauses and the pure literals, until there are none or a
+     * conflict is found.
+     */
+    private void propagate() {
+        while (!this.conflict) {
+            if (!this.units.isEmpty()) {
+                int k = this.units.poll();
+
+                if (this.trueCount[k] > 0) continue;
+
+                for (int l : this.clauses[k]) {
+                    if (this.value[l >> 1] == 0) {
+                        this.assign(l);
+                        break;
+                    }
+                }
+            } else if (!this.pures.isEmpty()) {
+                int l = this.pures.poll();
+
+                if (this.value[l >> 1] == 0 && this.active[l] > 0 && this.active[l ^ 1] == 0) {
+                    this.assign(l);
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the unassigned literal with the most occurrences in the clauses not yet true.
+     */
+    private int branch() {
+        int best = -1;
+        int bestScore = -1;
+
+        for (int v = 0; v < this.value.length; v++) {
+            if (this.value[v] != 0) continue;
+
+            int score = this.active[2 * v] + this.active[2 * v + 1];
+
+            if (score > bestScore) {
+                best = (this.active[2 * v] >= this.active[2 * v + 1]) ? 2 * v : 2 * v + 1;
+                bestScore = score;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * makes a literal true, and updates the counters of the clauses containing it or its opposite.
+     */
+    private void assign(int l) {
+        this.value[l >> 1] = (byte) (((l & 1) == 0) ? 1 : 2);
+        this.trail[this.trailSize++] = l;
+
+        for (int k : this.occurrences[l]) {
+            if (this.trueCount[k]++ == 0) {
+                //the clause becomes true: its literals occur in one clause less
+                this.unsatisfied--;
+
+                for (int x : this.clauses[k]) {
+                    if (--this.active[x] == 0 && this.active[x ^ 1] > 0) this.pures.add(x ^ 1);
+                }
+            }
+        }
+
+        for (int k : this.occurrences[l ^ 1]) {
+            this.falseCount[k]++;
+
+            if (this.trueCount[k] == 0) {
+                if (this.falseCount[k] == this.clauses[k].length) {
+                    this.conflict = true;
+                } else if (this.falseCount[k] == this.clauses[k].length - 1) {
+                    this.units.add(k);
+                }
+            }
+        }
+    }
+
+    /**
+     * undoes the assignments from the specified position of the trail, in reverse order.
+     */
+    private void undo(int position) {
+        while (this.trailSize > position) {
+            int l = this.trail[--this.trailSize];
+
+            for (int k : this.occurrences[l ^ 1]) {
+                this.falseCount[k]--;
+            }
+
+            for (int k : this.occurrences[l]) {
+                if (--this.trueCount[k] == 0) {
+                    this.unsatisfied++;
+
+                    for (int x : this.clauses[k]) {
+                        this.active[x]++;
+                    }
+                }
+            }
+
+            this.value[l >> 1] = 0;
+        }
+
+        this.conflict = false;
+        this.units.clear();
+        this.pures.clear();
+    }
+
+    /**
+     * @return the codes of the true literals of the current assignment.
+     *         the unassigned atoms, which do not matter, are made false.
+     */
+    private int[] model() {
+        int[] res = new int[this.codes.length];
+
+        for (int v = 0; v < this.codes.length; v++) {
+            res[v] = (this.value[v] == 1) ? LiteralTable.positive(this.codes[v]) : LiteralTable.negative(this.codes[v]);
+        }
+
+        return res;
+    }
+
+    /**
+     * a queue of ints, backed by a growing circular array.
+     */
+    private static final class IntQueue {
+        private int[] items = new int[16];
+        private int head;
+        private int size;
+
+        void add(int x) {
+            if (this.size == this.items.length) {
+                int[] larger = new int[2 * this.items.length];
+
+                for (int i = 0; i < this.size; i++) {
+                    larger[i] = this.items[(this.head + i) % this.items.length];
+                }
+
+                this.items = larger;
+                this.head = 0;
+            }
+
+            this.items[(this.head + this.size) % this.items.length] = x;
+            this.size++;
+        }
+
+        int poll() {
+            int x = this.items[this.head];
+
+            this.head = (this.head + 1) % this.items.length;
+            this.size--;
+
+            return x;
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        void clear() {
+            this.head = 0;
+            this.size = 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package resolution;
+
+import sat.SatEngine;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This enumeration represents the SAT engines which can be raced by a {@link Portfolio}.
+ */
+public enum EngineType {
+    RESOLUTION,     //see ResolutionEngine
+    GIVEN_CLAUSE,   //see GivenClauseResolution
+    PARALLEL,       //see ParallelResolution, on the common fork/join pool
+    DPLL,           //see DpllEngine
+    CDCL,           //see CdclEngine
+    DAVIS_PUTNAM;   //see DavisPutnamEngine
+
+
+    /**
+     * @param config the configuration of the engine.
+     * @return a new engine of this type.
+     * @throws NullPointerException if config is null.
+     */
+    public SatEngine create(ResolutionConfig config) {
+        switch (this) {
+            case RESOLUTION:
+                return new ResolutionEngine(config);
+            case GIVEN_CLAUSE:
+                return new GivenClauseResolution(config);
+            case PARALLEL:
+                return new ParallelResolution(config, ForkJoinPool.commonPool());
+            case DPLL:
+                return new DpllEngine(config);
+            case CDCL:
+                return new CdclEngine(config);
+            case DAVIS_PUTNAM:
+                return new DavisPutnamEngine(config);
+            default:
+                throw new Error("An error occurred while executing the program");
+        }
+    }
+
+    /**
+     * @return the name of the engine type, used by the command-line options ("given-clause", "davis-putnam").
+     */
+    @Override
+    public String toString() {
+        return this.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,494 @@
+package resolution;
+
+import cnf.*;
+import sat.Budget;
+import sat.BudgetTracker;
+import sat.CancellationToken;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import literal.LiteralTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the resolution method with the given-clause algorithm.
+ *
+ * The clauses are split into two sets: the active clauses, which have already been
+ * resolved with each other, and the passive clauses, which are waiting to be processed.
+ * At each iteration a "given" clause is selected from the passive set, according to a
+ * {@link ClauseSelection} heuristic, it is resolved with all the active clauses that
+ * contain a complementary literal, the new resolvents are added to the passive set,
+ * and finally the given clause becomes active.
+ * A new resolvent is discarded if it is subsumed by an active or passive clause,
+ * otherwise the active and passive clauses subsumed by the new resolvent are retired.
+ * The set of clauses is unsatisfiable if and only if the empty clause is derived.
+ *
+ * An engine owns the state of its calls and numbers its own steps: several engines can
+ * run in different threads, while a single engine is used by one thread at a time.
+ * The calls are limited by the budget of the engine: the solve methods return the
+ * verdict UNKNOWN when a limit is reached, while isSatisfiable throws an IllegalStateException.
+ */
+public class GivenClauseResolution implements SatEngine {
+
+    //FIELDS
+    private final ClauseSelection selection;
+    private int pickRatio; //used by the AGE_WEIGHT heuristic
+    private boolean enableSteps;
+    private boolean unitPropagation;
+    private List<Step> trace;
+    private Budget budget;
+    private CancellationToken token; //null, if the calls cannot be cancelled
+
+    //the state of the current call of isSatisfiable
+    private PassiveQueue passive;
+    private OccurrenceIndex active;
+    private Set<Clause> kept; //the active and passive clauses
+    private SubsumptionIndex subsumption; //the same clauses, indexed for subsumption
+    private Set<Clause> premises; //the active clauses outside the set of support
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine which selects the smallest clause first.
+     */
+    public GivenClauseResolution() {
+        this(ClauseSelection.SMALLEST);
+    }
+
+    /**
+     * @param selection the heuristic used to select the given clause.
+     * @throws NullPointerException if selection is null.
+     */
+    public GivenClauseResolution(ClauseSelection selection) {
+        Objects.requireNonNull(selection);
+
+        this.selection = selection;
+        this.pickRatio = 4;
+        this.enableSteps = false;
+        this.unitPropagation = true;
+        this.trace = new ArrayList<>();
+        this.budget = new Budget();
+        this.token = null;
+    }
+
+    /**
+     * @param config the configuration of the engine: the tracing, the unit propagation,
+     *               the heuristic used to select the given clause and its ratio.
+     * @throws NullPointerException if config is null.
+     */
+    public GivenClauseResolution(ResolutionConfig config) {
+        this(config.getSelection());
+
+        this.pickRatio = config.getPickRatio();
+        this.enableSteps = config.isEnableSteps();
+        this.unitPropagation = config.isUnitPropagation();
+        this.budget = config.getBudget();
+        this.token = config.getCancellationToken();
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the given-clause algorithm.
+     *
+     * If tracing of resolution steps is enabled, the method prints a trace of the steps
+     * performed. Tracing can be enabled using the {@link #setEnableSteps(boolean)} method.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        //every clause is in the set of support
+        return isSatisfiable(s, s);
+    }
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the given-clause algorithm
+     * with the set-of-support strategy.
+     *
+     * The clauses of s that are not contained in "support" start as active clauses,
+     * so they are never resolved with each other: only the clauses of the set of support
+     * and their resolvents are selected as given clauses.
+     * The strategy is complete only if the clauses of s outside the set of support
+     * are satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @param support the clauses of s that form the set of support.
+     * @return true if the set of clauses is satisfiable (under the assumption above),
+     *         false otherwise.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s, ClauseSet support) {
+
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+        if (s.isEmpty()) throw new IllegalArgumentException("the clause set in input is empty");
+
+        return this.solve(s, support).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the engine.
+     * an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     * @see #isSatisfiable(ClauseSet)
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        return this.solve(s, s);
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable with the set-of-support strategy,
+     * within the budget of the engine. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @param support the clauses of s that form the set of support.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @see #isSatisfiable(ClauseSet, ClauseSet)
+     */
+    public SatResult solve(ClauseSet s, ClauseSet support) {
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+
+        BudgetTracker tracker = new BudgetTracker(this.budget, this.token);
+
+        try {
+            return new SatResult(this.start(s, support, tracker), tracker);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * sets up the active and passive clauses, and runs the given-clause loop.
+     *
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict start(ClauseSet s, ClauseSet support, BudgetTracker tracker) {
+        this.trace = new ArrayList<>();
+
+        Set<Clause> strengthened = new HashSet<>();
+
+        if (this.unitPropagation) {
+            UnitPropagation up = UnitPropagation.apply(s);
+
+            if (this.enableSteps) System.out.println(up + "\n");
+
+            if (up.isConflict()) return Verdict.UNSAT;
+
+            if (s.isEmpty()) return Verdict.SAT;
+
+            strengthened.addAll(up.getStrengthened());
+        }
+
+        this.reset();
+
+        for (Clause c : s) {
+            if (c.isEmpty()) return Verdict.UNSAT;
+
+            if (!c.isTautology() && this.kept.add(c)) {
+                this.subsumption.add(c);
+
+                if (support.contains(c) || strengthened.contains(c)) {
+                    this.passive.add(c);
+                } else {
+                    this.active.add(c);
+                    this.premises.add(c);
+                }
+            }
+        }
+
+        return this.saturate(Collections.emptyIterator(), tracker);
+    }
+
+    /**
+     * Checks whether the clauses returned by an iterator are satisfiable, using the
+     * given-clause algorithm. The clauses are read lazily: the passive set receives
+     * the next clause of the iterator whenever it is empty, and at least one clause
+     * of the iterator for each given clause, so the search starts with the first clause
+     * and may find the empty clause before the iterator is exhausted.
+     * Every clause is in the set of support, and unit propagation is not performed,
+     * because it needs the whole set of clauses.
+     *
+     * @param clauses the iterator over the clauses to be analyzed for satisfiability,
+     *                e.g. {@link formula.Formula#cnfIterator(formula.CnfTransformation)}.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     *         an iterator without clauses is satisfiable.
+     * @throws NullPointerException if the iterator is null.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(Iterator<Clause> clauses) {
+        return this.solve(clauses).isSatisfiable();
+    }
+
+    /**
+     * decides whether the clauses returned by an iterator are satisfiable, within the
+     * budget of the engine, reading them lazily as {@link #isSatisfiable(Iterator)} does.
+     *
+     * @param clauses the iterator over the clauses to be analyzed for satisfiability.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if the iterator is null.
+     */
+    public SatResult solve(Iterator<Clause> clauses) {
+        Objects.requireNonNull(clauses);
+
+        BudgetTracker tracker = new BudgetTracker(this.budget, this.token);
+
+        this.trace = new ArrayList<>();
+        this.reset();
+
+        try {
+            return new SatResult(this.saturate(clauses, tracker), tracker);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * the given-clause loop.
+     *
+     * @param input the clauses still to be added to the passive set.
+     * @param tracker the tracker of the budget of the call.
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict saturate(Iterator<Clause> input, BudgetTracker tracker) {
+        PassiveQueue passive = this.passive;
+        OccurrenceIndex active = this.active;
+        Set<Clause> kept = this.kept;
+        SubsumptionIndex subsumption = this.subsumption;
+        Set<Clause> premises = this.premises;
+
+        while (true) {
+            boolean read = false;
+
+            while (input.hasNext() && (passive.isEmpty() || !read)) {
+                Clause c = input.next();
+                read = true;
+
+                if (c.isEmpty()) {
+                    if (this.enableSteps) printTrace();
+                    return Verdict.UNSAT;
+                }
+
+                if (!c.isTautology() && !kept.contains(c) && subsumption.findSubsumer(c) == null) {
+                    this.insert(c);
+                }
+            }
+
+            if (passive.isEmpty()) break;
+
+            if (tracker.check(kept.size()) != null) {
+                if (this.enableSteps) printTrace();
+                return Verdict.UNKNOWN;
+            }
+
+            Clause given = passive.poll();
+
+            //stops as soon as the given clause is retired by one of its own resolvents
+            for (int k = 0; k < given.size() && kept.contains(given); k++) {
+
+                int code = given.literalAt(k);
+
+                //a copy of the list is visited, because a new clause can retire active clauses
+                Clause[] partners = active.get(LiteralTable.opposite(code)).toArray(new Clause[0]);
+
+                for (int h = 0; h < partners.length && kept.contains(given); h++) {
+
+                    Clause partner = partners[h];
+
+                    if (!kept.contains(partner)) continue; //retired
+
+                    Clause newClause = given.resolve(partner, code);
+
+                    Step step = null;
+                    if (this.enableSteps) {
+                        step = new Step(this.trace.size() + 1, given, partner, newClause, LiteralTable.toLiteral(code));
+                        this.trace.add(step);
+                    }
+
+                    if (newClause.isEmpty()) {
+                        if (this.enableSteps) printTrace();
+                        return Verdict.UNSAT;
+                    }
+
+                    if (tracker.step(kept.size()) != null) {
+                        if (this.enableSteps) printTrace();
+                        return Verdict.UNKNOWN;
+                    }
+
+                    if (newClause.isTautology()) {
+                        if (this.enableSteps)
+                            step.setTautology();
+                    } else if (kept.contains(newClause)) {
+                        if (this.enableSteps)
+                            step.setAlreadyPresent();
+
+                        //the resolvent belongs to the set of support, so the clause must be selected too
+                        if (premises.remove(newClause)) {
+                            active.remove(newClause);
+                            passive.add(newClause);
+                        }
+                    } else {
+                        Clause subsumer = subsumption.findSubsumer(newClause);
+
+                        if (subsumer != null) {
+                            if (this.enableSteps)
+                                step.setSubsumed(subsumer);
+
+                            if (premises.remove(subsumer)) {
+                                active.remove(subsumer);
+                                passive.add(subsumer);
+                            }
+                        } else {
+                            List<Clause> subsumed = this.insert(newClause);
+
+                            if (this.enableSteps && !subsumed.isEmpty())
+                                step.setRetired(subsumed);
+                        }
+                    }
+                }
+            }
+
+            if (kept.contains(given)) {
+                active.add(given);
+            }
+        }
+
+        if (this.enableSteps) printTrace();
+
+        //the passive set is empty: every pair of active clauses has been resolved
+        return Verdict.SAT;
+    }
+
+    /**
+     * starts a new call of isSatisfiable, with no active or passive clauses.
+     */
+    private void reset() {
+        this.passive = new PassiveQueue(this.selection, this.pickRatio);
+        this.active = new OccurrenceIndex();
+        this.kept = new HashSet<>();
+        this.subsumption = new SubsumptionIndex();
+        this.premises = new HashSet<>();
+    }
+
+    /**
+     * ends a call of isSatisfiable: the state of the call is released, so an idle engine keeps no memory.
+     */
+    private void release() {
+        this.trace = null;
+        this.passive = null;
+        this.active = null;
+        this.kept = null;
+        this.subsumption = null;
+        this.premises = null;
+    }
+
+    /**
+     * adds a clause, which is not subsumed by the kept clauses, to the passive set.
+     * backward subsumption: retires the active and passive clauses subsumed by the new one.
+     *
+     * @return the list of the retired clauses.
+     */
+    private List<Clause> insert(Clause c) {
+        List<Clause> subsumed = this.subsumption.findSubsumed(c);
+
+        for (Clause d : subsumed) {
+            this.kept.remove(d);
+            this.premises.remove(d);
+            this.subsumption.remove(d);
+            if (!this.passive.remove(d)) this.active.remove(d);
+        }
+
+        this.kept.add(c);
+        this.passive.add(c);
+        this.subsumption.add(c);
+
+        return subsumed;
+    }
+
+    /**
+     * Enables or disables the tracing of resolution steps.
+     *
+     * @param enableStepsValue true to enable tracing of resolution steps,
+     *                         false to disable it.
+     */
+    public void setEnableSteps(boolean enableStepsValue) {
+        this.enableSteps = enableStepsValue;
+    }
+
+    /**
+     * Enables or disables the unit propagation performed before the given-clause loop.
+     * It is enabled by default. When it is enabled, the set of clauses in input
+     * is simplified in place.
+     *
+     * @param unitPropagationValue true to enable unit propagation, false to disable it.
+     * @see UnitPropagation
+     */
+    public void setUnitPropagation(boolean unitPropagationValue) {
+        this.unitPropagation = unitPropagationValue;
+    }
+
+    /**
+     * sets the ratio used by the AGE_WEIGHT heuristic: after "ratio" clauses
+     * selected by weight, the oldest passive clause is selected. The default is 4.
+     *
+     * @param ratio the number of selections by weight for each selection by age.
+     * @throws IllegalArgumentException if ratio is negative.
+     */
+    public void setPickRatio(int ratio) {
+        if (ratio < 0) throw new IllegalArgumentException("the ratio cannot be negative");
+
+        this.pickRatio = ratio;
+    }
+
+    /**
+     * @param budget the resources of each call, which are copied. unlimited by default.
+     * @throws NullPointerException if budget is null.
+     */
+    public void setBudget(Budget budget) {
+        this.budget = new Budget(budget);
+    }
+
+    /**
+     * @param token the token used to cancel the calls, null if the calls cannot be cancelled.
+     */
+    public void setCancellationToken(CancellationToken token) {
+        this.token = token;
+    }
+
+    /**
+     * @return the heuristic used to select the given clause.
+     */
+    public ClauseSelection getSelection() {
+        return this.selection;
+    }
+
+    /**
+     * prints the trace of the steps that have been performed by the last call of isSatisfiable.
+     */
+    private void printTrace() {
+        for (Step st : this.trace) {
+            System.out.println(st.toString());
+        }
+    }
+}
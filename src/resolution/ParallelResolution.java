@@ -0,0 +1,373 @@
+package resolution;
+
+import cnf.*;
+import sat.BudgetTracker;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import literal.LiteralTable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class implements the resolution method with a level saturation, whose rounds
+ * are computed in parallel by the threads of a {@link ForkJoinPool}.
+ *
+ * The kept clauses are split into the old clauses, already resolved with each other,
+ * and the new clauses, produced by the last round. In each round every new clause is
+ * resolved with the old clauses and with the following new clauses: the new clauses
+ * are partitioned among the tasks of the pool, which read the occurrence index of the
+ * kept clauses without modifying it, and put their resolvents into a concurrent set,
+ * so a resolvent computed by several tasks is kept only once.
+ * As soon as a task derives the empty clause, all the tasks stop.
+ *
+ * At the end of a round the resolvents are merged, from the shortest, by a single thread:
+ * a resolvent subsumed by a kept clause is discarded, and the kept clauses subsumed by
+ * a resolvent are retired. The merged resolvents are the new clauses of the next round,
+ * and the set is satisfiable when a round produces no new clause.
+ *
+ * With the set-of-support strategy the clauses outside the set of support start as
+ * old clauses, so they are never resolved with each other.
+ * The tracing of the single steps is not available: when it is enabled, a line is
+ * printed for each round.
+ *
+ * The calls are limited by the budget of the configuration, which is checked by every
+ * task: {@link #solve(ClauseSet)} returns the verdict UNKNOWN when a limit is reached,
+ * while isSatisfiable throws an IllegalStateException.
+ */
+public class ParallelResolution implements SatEngine {
+
+    //FIELDS
+    private final ResolutionConfig config;
+    private final ForkJoinPool pool;
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine with the default configuration, which uses the common pool.
+     */
+    public ParallelResolution() {
+        this(new ResolutionConfig(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param config the configuration of the engine, which is copied.
+     * @param pool the pool whose threads compute the resolvents.
+     * @throws NullPointerException if config or pool is null.
+     */
+    public ParallelResolution(ResolutionConfig config, ForkJoinPool pool) {
+        this.config = new ResolutionConfig(config);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the parallel resolution method.
+     * Before the resolution method starts, the tautologies are removed from s and,
+     * unless it is disabled in the configuration, the unit clauses are propagated:
+     * s is simplified in place.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        //every clause is in the set of support
+        return isSatisfiable(s, s);
+    }
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the parallel resolution method
+     * with the set-of-support strategy: two clauses are resolved only if at least one of
+     * them is in the set of support or is a resolvent.
+     * The strategy is complete only if the clauses of s outside the set of support
+     * are satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @param support the clauses of s that form the set of support.
+     * @return true if the set of clauses is satisfiable (under the assumption above),
+     *         false otherwise.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     */
+    public boolean isSatisfiable(ClauseSet s, ClauseSet support) {
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+        if (s.isEmpty()) throw new IllegalArgumentException("the clause set in input is empty");
+
+        return this.solve(s, support).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the configuration.
+     * an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability, simplified in place.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     * @see #isSatisfiable(ClauseSet)
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        return this.solve(s, s);
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable with the set-of-support strategy,
+     * within the budget of the configuration. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability, simplified in place.
+     * @param support the clauses of s that form the set of support.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @see #isSatisfiable(ClauseSet, ClauseSet)
+     */
+    public SatResult solve(ClauseSet s, ClauseSet support) {
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+
+        BudgetTracker tracker = new BudgetTracker(this.config.getBudget(), this.config.getCancellationToken());
+
+        return new SatResult(this.saturate(s, support, tracker), tracker);
+    }
+
+    /**
+     * the rounds of the level saturation.
+     *
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict saturate(ClauseSet s, ClauseSet support, BudgetTracker tracker) {
+        s.removeTautologies();
+
+        if (s.isEmpty()) return Verdict.SAT;
+        if (s.contains(new Clause())) return Verdict.UNSAT;
+
+        Set<Clause> strengthened = new HashSet<>();
+
+        if (this.config.isUnitPropagation()) {
+            UnitPropagation up = UnitPropagation.apply(s);
+
+            if (this.config.isEnableSteps()) System.out.println(up + "\n");
+
+            if (up.isConflict()) return Verdict.UNSAT;
+            if (s.isEmpty()) return Verdict.SAT;
+
+            strengthened.addAll(up.getStrengthened());
+        }
+
+        Round round = new Round(tracker);
+
+        for (Clause c : s) {
+            boolean supported = support.contains(c) || strengthened.contains(c);
+
+            round.seen.add(c);
+            round.keep(c, supported);
+            if (!supported) round.premises.add(c);
+        }
+
+        for (int n = 1; !round.fresh.isEmpty(); n++) {
+            List<Clause> resolvents = this.pool.invoke(new Task(round, 0, round.fresh.size(), grain(round.fresh.size())));
+
+            if (round.refuted.get()) {
+                if (this.config.isEnableSteps()) System.out.println("round " + n + ": the empty clause has been derived\n");
+                return Verdict.UNSAT;
+            }
+
+            if (tracker.check(round.occurrences.size()) != null) {
+                if (this.config.isEnableSteps()) System.out.println("round " + n + ": " + tracker.getExceeded() + " limit reached\n");
+                return Verdict.UNKNOWN;
+            }
+
+            int kept = round.merge(resolvents);
+
+            if (this.config.isEnableSteps()) {
+                System.out.println("round " + n + ": " + resolvents.size() + " resolvents, "
+                    + kept + " new clauses, " + round.occurrences.size() + " clauses kept\n");
+            }
+        }
+
+        //the last round produced no new clause: every pair of kept clauses has been resolved
+        return Verdict.SAT;
+    }
+
+    /**
+     * @return the number of new clauses resolved by a task without splitting it.
+     */
+    private int grain(int fresh) {
+        return Math.max(1, fresh / (8 * this.pool.getParallelism()));
+    }
+
+    /**
+     * the state of a saturation: the kept clauses, with their indexes.
+     * the state is modified only between the rounds, by a single thread,
+     * and only read by the tasks, except for the concurrent set of the clauses seen,
+     * the flag of the empty clause and the tracker of the budget.
+     */
+    private static final class Round {
+        final BudgetTracker tracker;
+        final OccurrenceIndex occurrences = new OccurrenceIndex(); //the kept clauses
+        final SubsumptionIndex subsumption = new SubsumptionIndex(); //the kept clauses
+        final Set<Clause> seen = ConcurrentHashMap.newKeySet(); //every clause kept or derived so far
+        final AtomicBoolean refuted = new AtomicBoolean(false);
+        final Set<Clause> premises = new HashSet<>(); //the old clauses outside the set of support
+        List<Clause> fresh = new ArrayList<>(); //the new clauses, to be resolved in the next round
+        Map<Clause, Integer> positions = new HashMap<>(); //new clause -> its position in fresh
+
+        Round(BudgetTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        /**
+         * adds a clause to the kept clauses, as a new clause or as an old one.
+         */
+        void keep(Clause c, boolean isNew) {
+            this.occurrences.add(c);
+            this.subsumption.add(c);
+
+            if (isNew) {
+                this.positions.put(c, this.fresh.size());
+                this.fresh.add(c);
+            }
+        }
+
+        /**
+         * merges the resolvents of a round: they become the new clauses.
+         *
+         * @return the number of resolvents kept.
+         */
+        int merge(List<Clause> resolvents) {
+            this.fresh = new ArrayList<>();
+            this.positions = new HashMap<>();
+
+            //the shortest clauses first, so they subsume the longer ones before they are kept
+            resolvents.sort(Comparator.comparingInt(Clause::size));
+
+            for (Clause c : resolvents) {
+                Clause subsumer = this.subsumption.findSubsumer(c);
+
+                if (subsumer != null) {
+                    //the resolvent belongs to the set of support, so its subsumer must belong to it too
+                    if (this.premises.remove(subsumer)) {
+                        this.positions.put(subsumer, this.fresh.size());
+                        this.fresh.add(subsumer);
+                    }
+
+                    continue;
+                }
+
+                for (Clause d : this.subsumption.findSubsumed(c)) {
+                    this.occurrences.remove(d);
+                    this.subsumption.remove(d);
+                    this.premises.remove(d);
+
+                    Integer position = this.positions.remove(d);
+                    if (position != null) this.fresh.set(position, null);
+                }
+
+                this.keep(c, true);
+            }
+
+            this.fresh.removeIf(Objects::isNull);
+
+            for (int i = 0; i < this.fresh.size(); i++) {
+                this.positions.put(this.fresh.get(i), i);
+            }
+
+            return this.fresh.size();
+        }
+    }
+
+    /**
+     * a task which resolves the new clauses in the range [from, to) with their partners.
+     */
+    private static final class Task extends RecursiveTask<List<Clause>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Round round;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Task(Round round, int from, int to, int grain) {
+            this.round = round;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected List<Clause> compute() {
+            if (this.to - this.from > this.grain) {
+                int middle = (this.from + this.to) >>> 1;
+                Task left = new Task(this.round, this.from, middle, this.grain);
+                Task right = new Task(this.round, middle, this.to, this.grain);
+
+                left.fork();
+
+                List<Clause> rightRes = right.compute();
+                List<Clause> res = left.join();
+
+                res.addAll(rightRes);
+
+                return res;
+            }
+
+            List<Clause> res = new ArrayList<>();
+
+            long retained = this.round.occurrences.size();
+
+            for (int i = this.from; i < this.to && !this.round.refuted.get(); i++) {
+                Clause c = this.round.fresh.get(i);
+                int count = 0; //the resolvents of c
+
+                if (this.round.tracker.check(retained) != null) return res;
+
+                for (int k = 0; k < c.size(); k++) {
+                    int code = c.literalAt(k);
+
+                    for (Clause partner : this.round.occurrences.get(LiteralTable.opposite(code))) {
+                        Integer j = this.round.positions.get(partner);
+
+                        //a pair of new clauses is resolved by the clause with the lower position
+                        if (j != null && j <= i) continue;
+
+                        Clause r = c.resolve(partner, code);
+                        count++;
+
+                        if (r.isEmpty()) {
+                            this.round.refuted.set(true);
+                            return res;
+                        }
+
+                        if (r.isTautology()) continue;
+
+                        //a resolvent equal to a premise is kept, so that the premise joins the set of support
+                        if (this.round.seen.add(r) || this.round.premises.contains(r)) res.add(r);
+                    }
+                }
+
+                if (count > 0 && this.round.tracker.steps(count, retained) != null) return res;
+            }
+
+            return res;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package resolution;
+
+import cnf.Clause;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * this class represents the set of passive clauses of the given-clause
+ * resolution method, ordered according to a clause selection heuristic.
+ *
+ * With the AGE_WEIGHT heuristic the clauses are kept in two queues, one by age
+ * and one by weight: an entry taken from one queue is only marked as taken,
+ * and it is discarded when it reaches the head of the other queue.
+ * The same happens to the entries of the clauses removed from the queue
+ * before they are selected.
+ */
+class PassiveQueue {
+
+    //FIELDS
+    private final ClauseSelection selection;
+    private final int pickRatio; //number of picks by weight for each pick by age
+    private final PriorityQueue<Entry> byWeight;
+    private final Queue<Entry> byAge; //null, if the heuristic does not use the age
+    private final Map<Clause, Entry> entries; //clause -> its entry, for the clauses in the queue
+    private long age; //the age of the next clause added to the queue
+    private int picks; //the number of clauses polled so far
+    private int size;
+
+    //CONSTRUCTORS
+
+    /**
+     * @param selection the clause selection heuristic.
+     * @param pickRatio with the AGE_WEIGHT heuristic, the number of clauses selected by weight
+     *                  for each clause selected by age.
+     */
+    PassiveQueue(ClauseSelection selection, int pickRatio) {
+        this.selection = selection;
+        this.pickRatio = pickRatio;
+        this.byWeight = new PriorityQueue<>(Comparator.comparingInt((Entry e) -> e.weight)
+            .thenComparingLong(e -> e.age));
+        this.byAge = (selection == ClauseSelection.AGE_WEIGHT) ? new ArrayDeque<>() : null;
+        this.entries = new HashMap<>();
+    }
+
+    //METHODS
+
+    /**
+     * adds a clause to the queue. the clause is younger than all the clauses already added.
+     */
+    void add(Clause c) {
+        Entry e = new Entry(c, age++, selection.weight(c));
+
+        this.byWeight.add(e);
+        if (this.byAge != null) this.byAge.add(e);
+        this.entries.put(c, e);
+        this.size++;
+    }
+
+    /**
+     * removes a clause from the queue, if it is present.
+     *
+     * @return true, if the clause was in the queue.
+     */
+    boolean remove(Clause c) {
+        Entry e = this.entries.remove(c);
+
+        if (e == null) return false;
+
+        e.taken = true;
+        this.size--;
+
+        return true;
+    }
+
+    /**
+     * @return the next clause to be selected, removing it from the queue.
+     *         null, if the queue is empty.
+     */
+    Clause poll() {
+        if (this.size == 0) return null;
+
+        boolean pickByAge = (this.byAge != null) && (this.picks % (this.pickRatio + 1) == this.pickRatio);
+        Queue<Entry> q = pickByAge ? this.byAge : this.byWeight;
+
+        Entry e = q.poll();
+        while (e.taken) {
+            e = q.poll();
+        }
+
+        e.taken = true;
+        this.entries.remove(e.clause);
+        this.picks++;
+        this.size--;
+
+        return e.clause;
+    }
+
+    /**
+     * @return true, if there are no clauses in the queue.
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return the number of clauses in the queue.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * an element of the queue.
+     */
+    private static class Entry {
+        final Clause clause;
+        final long age;
+        final int weight;
+        boolean taken;
+
+        Entry(Clause clause, long age, int weight) {
+            this.clause = clause;
+            this.age = age;
+            this.weight = weight;
+        }
+    }
+}
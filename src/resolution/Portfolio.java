@@ -0,0 +1,182 @@
+package resolution;
+
+import cnf.ClauseSet;
+import sat.CancellationToken;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class races several SAT engines on the same set of clauses, and returns the
+ * result of the first engine which finds the verdict (SAT or UNSAT).
+ *
+ * Each engine runs in its own daemon thread, on its own copy of the set, with the budget
+ * of the configuration. The copies are made before the threads start, so the caller can
+ * change the set once the race returns. When an engine finds the verdict, the other ones
+ * are cancelled through a shared cancellation token, and the race waits for them to stop
+ * at their next check of the budget: no engine of a race keeps running after it returns.
+ * If every engine stops with the verdict UNKNOWN, the result is the first of them.
+ * The cancellation token of the configuration, if any, cancels the whole race.
+ *
+ * The tracing of the configuration is ignored, since the traces of the engines would
+ * be interleaved.
+ */
+public class Portfolio implements SatEngine {
+
+    //FIELDS
+    private static final long POLL_MILLIS = 50; //the interval of the checks of the token of the configuration
+
+    private final ResolutionConfig config;
+    private final EngineType[] types;
+
+    //CONSTRUCTORS
+
+    /**
+     * @param config the configuration of the engines, which is copied.
+     * @param types the types of the engines to be raced.
+     * @throws NullPointerException if config, types or one of the types is null.
+     * @throws IllegalArgumentException if there are no types.
+     */
+    public Portfolio(ResolutionConfig config, EngineType... types) {
+        Objects.requireNonNull(types);
+
+        if (types.length == 0) throw new IllegalArgumentException("the portfolio needs at least one engine");
+
+        for (EngineType t : types) {
+            Objects.requireNonNull(t);
+        }
+
+        this.config = new ResolutionConfig(config);
+        this.config.setEnableSteps(false);
+        this.types = types.clone();
+    }
+
+    //METHODS
+
+    /**
+     * @return the types of the engines raced by this portfolio.
+     */
+    public EngineType[] getTypes() {
+        return this.types.clone();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, with the first engine which answers.
+     * the set is not modified.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result of the first engine which answered.
+     * @throws NullPointerException if s is null.
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        return this.race(s).getResult();
+    }
+
+    /**
+     * races the engines on a set of clauses. the set is not modified.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return the result of the first engine which answered, with its type.
+     * @throws NullPointerException if s is null.
+     * @throws IllegalStateException if an engine fails and no other engine answers.
+     */
+    public PortfolioResult race(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        CancellationToken outer = this.config.getCancellationToken();
+        CancellationToken token = new CancellationToken();
+        BlockingQueue<Object[]> finished = new LinkedBlockingQueue<>(); //pairs (type, result or throwable)
+        ResolutionConfig engineConfig = new ResolutionConfig(this.config);
+
+        List<Thread> threads = new ArrayList<>(this.types.length);
+
+        engineConfig.setCancellationToken(token);
+
+        for (EngineType type : this.types) {
+            SatEngine engine = type.create(engineConfig);
+            ClauseSet copy = s.union(new ClauseSet()); //the caller's set is only read by this thread
+
+            //the platform threads are daemons, so a loser which does not stop does not keep the JVM alive
+            Thread t = new Thread(() -> {
+                Object outcome;
+
+                try {
+                    outcome = engine.solve(copy);
+                } catch (Throwable e) {
+                    outcome = e;
+                }
+
+                finished.add(new Object[] { type, outcome });
+            }, "portfolio-" + type);
+
+            t.setDaemon(true);
+            t.start();
+            threads.add(t);
+        }
+
+        SatResult unknown = null;
+        Throwable failure = null;
+
+        try {
+            for (int received = 0; received < this.types.length; ) {
+                Object[] next = finished.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (next == null) {
+                    if (outer != null && outer.isCancelled()) token.cancel();
+                    continue;
+                }
+
+                received++;
+
+                if (next[1] instanceof Throwable) {
+                    if (failure == null) failure = (Throwable) next[1];
+                    continue;
+                }
+
+                SatResult result = (SatResult) next[1];
+
+                if (result.getVerdict() != Verdict.UNKNOWN) {
+                    return new PortfolioResult((EngineType) next[0], result);
+                }
+
+                if (unknown == null) unknown = result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("the race has been interrupted", e);
+        } finally {
+            token.cancel();
+            join(threads);
+        }
+
+        if (unknown == null) throw new IllegalStateException("every engine has failed", failure);
+
+        return new PortfolioResult(null, unknown);
+    }
+
+    /**
+     * waits for the threads of the engines to stop, unless the current thread is interrupted.
+     */
+    private static void join(List<Thread> threads) {
+        try {
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "portfolio " + Arrays.toString(this.types);
+    }
+}
@@ -0,0 +1,51 @@
+package resolution;
+
+import sat.SatResult;
+import java.util.Objects;
+
+/**
+ * This class represents the result of a race of a {@link Portfolio}: the result of the
+ * engine which answered first, and its type.
+ *
+ * Objects instantiated by this class are immutable.
+ */
+public class PortfolioResult {
+
+    //FIELDS
+    private final EngineType winner; //null, if no engine has answered
+    private final SatResult result;
+
+    //CONSTRUCTORS
+
+    /**
+     * @param winner the type of the engine which answered first, null if no engine has answered.
+     * @param result the result of the winner, or the UNKNOWN result of the race if there is no winner.
+     * @throws NullPointerException if result is null.
+     */
+    public PortfolioResult(EngineType winner, SatResult result) {
+        this.winner = winner;
+        this.result = Objects.requireNonNull(result);
+    }
+
+    //METHODS
+
+    /**
+     * @return the type of the engine which answered first, null if no engine has answered
+     *         (the verdict is UNKNOWN).
+     */
+    public EngineType getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * @return the result of the race.
+     */
+    public SatResult getResult() {
+        return this.result;
+    }
+
+    @Override
+    public String toString() {
+        return (this.winner == null) ? this.result.toString() : this.result + " (" + this.winner + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package resolution;
+
+import cnf.Clause;
+import cnf.ClauseSet;
+import cnf.Preprocessor;
+import static connective.Connective.*;
+import formula.*;
+import java.util.Objects;
+
+/**
+ * This class represents the clauses to be refuted to prove that a formula is a tautology:
+ * the clause set of its negation and, when the set-of-support strategy is used on a
+ * formula "premises -> conclusion", the set of support, that is the clauses of the
+ * negated conclusion. The negation is then converted as "premises & ~conclusion".
+ *
+ * The clause sets are modified in place by the simplification of the clauses, which
+ * keeps the set of support up to date.
+ */
+public class Refutation {
+
+    //FIELDS
+    private final ClauseSet clauses;
+    private final ClauseSet support; //null, if the set-of-support strategy is not used
+
+    //CONSTRUCTORS
+
+    /**
+     * @param f the formula to be proved.
+     * @param transformation the CNF transformation.
+     * @param setOfSupport true to use the set of support, if f is an implication.
+     * @throws NullPointerException if f or transformation is null.
+     */
+    public Refutation(Formula f, CnfTransformation transformation, boolean setOfSupport) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(transformation);
+
+        if (setOfSupport && isImplication(f)) {
+            Formula premises = ((CompoundFormula) f).getLeftSubformula();
+            Formula conclusion = ((CompoundFormula) f).getRightSubformula();
+
+            this.support = new CompoundFormula(NOT, conclusion).toCnf(transformation);
+            this.clauses = premises.toCnf(transformation).union(this.support);
+        } else {
+            this.support = null;
+            this.clauses = new CompoundFormula(NOT, f).toCnf(transformation);
+        }
+    }
+
+    /**
+     * @param clauses the clauses to be refuted, without a set of support.
+     * @throws NullPointerException if clauses is null.
+     */
+    public Refutation(ClauseSet clauses) {
+        this.clauses = Objects.requireNonNull(clauses);
+        this.support = null;
+    }
+
+    //METHODS
+
+    /**
+     * @param f a formula.
+     * @return true, if the main connective of f is an implication.
+     * @throws NullPointerException if f is null.
+     */
+    public static boolean isImplication(Formula f) {
+        Objects.requireNonNull(f);
+
+        return (f instanceof CompoundFormula)
+            && ((CompoundFormula) f).getMainConnective() == IMPLIES;
+    }
+
+    /**
+     * simplifies the clauses with the enabled passes of a preprocessor.
+     * the clauses produced by the simplification may come from the set of support,
+     * so they are added to it.
+     *
+     * @param p the preprocessor.
+     * @return false, if the simplification found that the clauses are unsatisfiable.
+     * @throws NullPointerException if p is null.
+     */
+    public boolean simplify(Preprocessor p) {
+        Objects.requireNonNull(p);
+
+        ClauseSet original = (this.support == null) ? null : this.clauses.union(new ClauseSet());
+        boolean consistent = p.apply(this.clauses);
+
+        if (consistent && this.support != null) {
+            for (Clause c : this.clauses) {
+                if (!original.contains(c)) this.support.add(c);
+            }
+        }
+
+        return consistent;
+    }
+
+    /**
+     * @return the clauses to be refuted.
+     */
+    public ClauseSet getClauses() {
+        return this.clauses;
+    }
+
+    /**
+     * @return the set of support, null if the set-of-support strategy is not used.
+     */
+    public ClauseSet getSupport() {
+        return this.support;
+    }
+}
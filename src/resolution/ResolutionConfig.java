@@ -0,0 +1,164 @@
+package resolution;
+
+import sat.Budget;
+import sat.CancellationToken;
+import java.util.Objects;
+
+/**
+ * This class represents the configuration of a resolution engine: the tracing of the
+ * resolution steps, the strategies used by the engine, and the budget of each call
+ * with its cancellation token.
+ *
+ * An engine copies its configuration when it is created, so a configuration can be
+ * changed and reused to create other engines without affecting the existing ones.
+ *
+ * @see ResolutionEngine
+ * @see GivenClauseResolution
+ */
+public class ResolutionConfig {
+
+    //FIELDS
+    private boolean enableSteps;
+    private boolean unitPropagation;
+    private ClauseSelection selection; //used by the given-clause engine
+    private int pickRatio; //used by the AGE_WEIGHT heuristic
+    private Budget budget;
+    private CancellationToken token; //null, if the calls cannot be cancelled
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs the default configuration: tracing disabled, unit propagation enabled,
+     * and the SMALLEST heuristic with a ratio of 4 for the given-clause engine.
+     */
+    public ResolutionConfig() {
+        this.enableSteps = false;
+        this.unitPropagation = true;
+        this.selection = ClauseSelection.SMALLEST;
+        this.pickRatio = 4;
+        this.budget = new Budget();
+        this.token = null;
+    }
+
+    /**
+     * Constructs a copy of the specified configuration.
+     *
+     * @param other the configuration to be copied.
+     * @throws NullPointerException if other is null.
+     */
+    public ResolutionConfig(ResolutionConfig other) {
+        Objects.requireNonNull(other);
+
+        this.enableSteps = other.enableSteps;
+        this.unitPropagation = other.unitPropagation;
+        this.selection = other.selection;
+        this.pickRatio = other.pickRatio;
+        this.budget = new Budget(other.budget);
+        this.token = other.token;
+    }
+
+    //METHODS
+
+    /**
+     * Enables or disables the tracing of resolution steps: when it is enabled,
+     * the steps performed by the engine are printed to the Stdout.
+     *
+     * @param enableStepsValue true to enable tracing of resolution steps,
+     *                         false to disable it.
+     */
+    public void setEnableSteps(boolean enableStepsValue) {
+        this.enableSteps = enableStepsValue;
+    }
+
+    /**
+     * @return true, if the tracing of resolution steps is enabled.
+     */
+    public boolean isEnableSteps() {
+        return this.enableSteps;
+    }
+
+    /**
+     * Enables or disables the unit propagation performed before the resolution method.
+     * When it is enabled (the default), the set of clauses in input is simplified in place.
+     *
+     * @param unitPropagationValue true to enable unit propagation, false to disable it.
+     * @see cnf.UnitPropagation
+     */
+    public void setUnitPropagation(boolean unitPropagationValue) {
+        this.unitPropagation = unitPropagationValue;
+    }
+
+    /**
+     * @return true, if the unit propagation is enabled.
+     */
+    public boolean isUnitPropagation() {
+        return this.unitPropagation;
+    }
+
+    /**
+     * @param selection the heuristic used by the given-clause engine to select the given clause.
+     * @throws NullPointerException if selection is null.
+     */
+    public void setSelection(ClauseSelection selection) {
+        this.selection = Objects.requireNonNull(selection);
+    }
+
+    /**
+     * @return the heuristic used by the given-clause engine to select the given clause.
+     */
+    public ClauseSelection getSelection() {
+        return this.selection;
+    }
+
+    /**
+     * sets the ratio used by the AGE_WEIGHT heuristic: after "ratio" clauses
+     * selected by weight, the oldest passive clause is selected. The default is 4.
+     *
+     * @param ratio the number of selections by weight for each selection by age.
+     * @throws IllegalArgumentException if ratio is negative.
+     */
+    public void setPickRatio(int ratio) {
+        if (ratio < 0) throw new IllegalArgumentException("the ratio cannot be negative");
+
+        this.pickRatio = ratio;
+    }
+
+    /**
+     * @return the ratio used by the AGE_WEIGHT heuristic.
+     */
+    public int getPickRatio() {
+        return this.pickRatio;
+    }
+
+    /**
+     * @param budget the resources of each call, which are copied. unlimited by default.
+     * @throws NullPointerException if budget is null.
+     */
+    public void setBudget(Budget budget) {
+        this.budget = new Budget(budget);
+    }
+
+    /**
+     * @return a copy of the resources of each call.
+     */
+    public Budget getBudget() {
+        return new Budget(this.budget);
+    }
+
+    /**
+     * sets the token used to cancel the calls. the token is shared, not copied,
+     * so cancelling it stops the calls of every engine created with this configuration.
+     *
+     * @param token the cancellation token, null if the calls cannot be cancelled.
+     */
+    public void setCancellationToken(CancellationToken token) {
+        this.token = token;
+    }
+
+    /**
+     * @return the cancellation token, null if the calls cannot be cancelled.
+     */
+    public CancellationToken getCancellationToken() {
+        return this.token;
+    }
+}
@@ -0,0 +1,424 @@
+package resolution;
+
+import cnf.*;
+import sat.BudgetTracker;
+import sat.SatEngine;
+import sat.SatResult;
+import sat.Verdict;
+import literal.Literal;
+import literal.LiteralTable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements the resolution method in propositional logic for a set of clauses.
+ *
+ * Each engine owns the state of its calls of isSatisfiable and numbers its own steps,
+ * so several engines can run at the same time in different threads. An engine can be
+ * reused for any number of calls, but by a single thread at a time: an application can
+ * create an engine per request, or keep one per thread.
+ *
+ * The calls are limited by the budget of the configuration: {@link #solve(ClauseSet)}
+ * returns the verdict UNKNOWN when a limit is reached, while isSatisfiable throws
+ * an IllegalStateException.
+ *
+ * @see Resolution
+ */
+public class ResolutionEngine implements SatEngine {
+
+    //FIELDS
+    private final ResolutionConfig config;
+    private Map<Integer, Set<Integer>> visited; //position -> greater positions already resolved with it
+    private List<Clause> listCl; //the clauses considered so far, in order of insertion (null if retired)
+    private Map<Clause, Integer> positions; //clause -> its position in listCl
+    private OccurrenceIndex occurrences; //literal -> clauses of listCl containing it
+    private SubsumptionIndex subsumption; //the clauses of listCl, to check forward subsumption
+    private Set<Clause> supported; //the clauses of listCl in the set of support
+    private List<Step> trace;
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new engine with the default configuration.
+     */
+    public ResolutionEngine() {
+        this(new ResolutionConfig());
+    }
+
+    /**
+     * @param config the configuration of the engine, which is copied.
+     * @throws NullPointerException if config is null.
+     */
+    public ResolutionEngine(ResolutionConfig config) {
+        this.config = new ResolutionConfig(config);
+    }
+
+    //METHODS
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the resolution method.
+     *
+     * This method determines whether a given set of clauses is satisfiable by applying
+     * the resolution method. The method analyzes the given set of clauses
+     * to find a contradiction, indicating that the set of clauses is unsatisfiable.
+     * If no contradiction is found, the set of clauses is satisfiable.
+     *
+     * If tracing of resolution steps is enabled, the method prints a trace of the steps
+     * performed by the resolution method. Tracing can be enabled using the
+     * {@link ResolutionConfig#setEnableSteps(boolean)} method of the configuration.
+     *
+     * Before the resolution method starts, the tautologies are removed from s and,
+     * unless it is disabled in the configuration, the unit clauses
+     * are propagated: s is simplified in place.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @return true if the set of clauses is satisfiable, false otherwise.
+     * @throws NullPointerException if the input clause set is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @throws IllegalStateException if a limit of the budget has been reached.
+     * @see ResolutionConfig
+     */
+    public boolean isSatisfiable(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        //every clause is in the set of support
+        return isSatisfiable(s, s);
+    }
+
+    /**
+     * Checks whether a set of clauses is satisfiable using the resolution method
+     * with the set-of-support strategy.
+     *
+     * The clauses of s that are also contained in "support" form the set of support:
+     * two clauses are resolved only if at least one of them is in the set of support,
+     * and every resolvent is added to the set of support. In this way the resolutions
+     * between two clauses outside the set of support are never performed.
+     * The strategy is complete only if the clauses of s outside the set of support are
+     * satisfiable, as the premises of an entailment usually are: in that case the method
+     * returns the same result of {@link #isSatisfiable(ClauseSet)}.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability.
+     * @param support the clauses of s that form the set of support.
+     * @return true if the set of clauses is satisfiable (under the assumption above),
+     *         false otherwise.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @throws IllegalArgumentException if the input clause set is empty.
+     * @see ResolutionConfig
+     */
+    public boolean isSatisfiable(ClauseSet s, ClauseSet support) {
+
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+        if (s.isEmpty()) throw new IllegalArgumentException("the clause set in input is empty");
+
+        return this.solve(s, support).isSatisfiable();
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable, within the budget of the configuration.
+     * an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability, simplified in place.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if s is null.
+     * @see #isSatisfiable(ClauseSet)
+     */
+    @Override
+    public SatResult solve(ClauseSet s) {
+        Objects.requireNonNull(s);
+
+        return this.solve(s, s);
+    }
+
+    /**
+     * decides whether a set of clauses is satisfiable with the set-of-support strategy,
+     * within the budget of the configuration. an empty set is satisfiable.
+     *
+     * @param s the set of clauses to be analyzed for satisfiability, simplified in place.
+     * @param support the clauses of s that form the set of support.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which has been reached.
+     * @throws NullPointerException if one of the clause sets is null.
+     * @see #isSatisfiable(ClauseSet, ClauseSet)
+     */
+    public SatResult solve(ClauseSet s, ClauseSet support) {
+        Objects.requireNonNull(s);
+        Objects.requireNonNull(support);
+
+        BudgetTracker tracker = new BudgetTracker(this.config.getBudget(), this.config.getCancellationToken());
+
+        try {
+            return new SatResult(this.saturate(s, support, tracker), tracker);
+        } finally {
+            //the state of a call is released, so an idle engine keeps no memory
+            this.visited = null;
+            this.trace = null;
+            this.listCl = null;
+            this.positions = null;
+            this.occurrences = null;
+            this.subsumption = null;
+            this.supported = null;
+        }
+    }
+
+    /**
+     * the resolution method.
+     *
+     * @return the verdict, UNKNOWN if a limit of the tracker has been reached.
+     */
+    private Verdict saturate(ClauseSet s, ClauseSet support, BudgetTracker tracker) {
+        boolean enableSteps = this.config.isEnableSteps();
+
+        s.removeTautologies();
+
+        if (s.isEmpty()) {
+            //in this case s contains only tautologies.
+            return Verdict.SAT;
+        }
+
+        if (s.contains(new Clause())) {
+            //the empty clause is already in s
+            return Verdict.UNSAT;
+        }
+
+        Set<Clause> strengthened = new HashSet<>();
+
+        if (this.config.isUnitPropagation()) {
+            UnitPropagation up = UnitPropagation.apply(s);
+
+            if (enableSteps) System.out.println(up + "\n");
+
+            if (up.isConflict()) return Verdict.UNSAT;
+
+            if (s.isEmpty()) {
+                //every clause has been satisfied by the unit clauses.
+                return Verdict.SAT;
+            }
+
+            strengthened.addAll(up.getStrengthened());
+        }
+
+        visited = new HashMap<>();
+        trace = new ArrayList<>();
+        listCl = new ArrayList<>();
+        positions = new HashMap<>();
+        occurrences = new OccurrenceIndex();
+        subsumption = new SubsumptionIndex();
+        supported = new HashSet<>();
+
+        for (Clause c : s) {
+            //the clauses shortened by unit propagation are derived from the set of support too
+            addClause(c, support.contains(c) || strengthened.contains(c));
+        }
+
+        for (int i = 0; i < listCl.size(); i++) {
+
+            Clause c1 = listCl.get(i);
+
+            if (c1 == null) continue; //the clause has been retired
+
+            if (tracker.check(positions.size()) != null) {
+                if (enableSteps) printTrace();
+                return Verdict.UNKNOWN;
+            }
+
+            //stops as soon as c1 is retired by one of its own resolvents
+            for (int k = 0; k < c1.size() && listCl.get(i) != null; k++) {
+
+                int code = c1.literalAt(k);
+
+                /*
+                 * only the clauses containing the opposite of the literal
+                 * can be resolved with c1 on that literal.
+                 * a copy of the list is visited, because adding a new clause
+                 * can retire some of the clauses in the list.
+                 */
+                Clause[] partners = occurrences.get(LiteralTable.opposite(code)).toArray(new Clause[0]);
+
+                for (int h = 0; h < partners.length && listCl.get(i) != null; h++) {
+
+                    Clause c2 = partners[h];
+                    Integer j = positions.get(c2);
+
+                    if (j != null && !alreadyVisited(i, j) 
+                            && (supported.contains(c1) || supported.contains(c2))) {
+
+                        //adds the greater position to the set of positions already visited by the lower position
+                        (visited.get(Math.min(i, j))).add(Math.max(i, j));
+
+                        Literal complemLit = LiteralTable.toLiteral(code);
+                        Clause newClause = resolRule(c1, c2, complemLit);
+
+                        Step step = null;
+                        if (enableSteps) {
+                            //create a new step and insert it into the trace list.
+                            step = new Step(trace.size() + 1, c1, c2, newClause, complemLit);
+                            trace.add(step);
+                        }
+
+                        /*
+                        * if the resolving clause is empty, then we have found a contradiction 
+                        * which proves that the set s is unsatisfiable.
+                        */
+                        if (newClause.isEmpty()) {
+                            if (enableSteps) printTrace();
+                            return Verdict.UNSAT;
+                        } 
+
+                        if (tracker.step(positions.size()) != null) {
+                            if (enableSteps) printTrace();
+                            return Verdict.UNKNOWN;
+                        }
+
+                        if (newClause.isTautology()) {
+                            if (enableSteps)
+                                step.setTautology();
+                        } else if (positions.containsKey(newClause)) {
+                            if (enableSteps)
+                                step.setAlreadyPresent();
+
+                            //the resolvent belongs to the set of support, so the clause must belong to it too
+                            addToSupport(newClause);
+                        } else {
+                            //a clause subsumed by a clause already in the list is useless
+                            Clause subsumer = subsumption.findSubsumer(newClause);
+
+                            if (subsumer != null) {
+                                if (enableSteps)
+                                    step.setSubsumed(subsumer);
+
+                                addToSupport(subsumer);
+                            } else {
+                                //the clauses subsumed by the new clause are useless too
+                                List<Clause> subsumed = subsumption.findSubsumed(newClause);
+
+                                for (Clause c : subsumed) {
+                                    retireClause(c);
+                                }
+
+                                if (enableSteps && !subsumed.isEmpty())
+                                    step.setRetired(subsumed);
+
+                                addClause(newClause, true);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (enableSteps) printTrace();
+
+        /*
+         * if after analyzing all the pairs of clauses in s, 
+         * the contradiction is not found, then s is satisfiable
+         */
+        return Verdict.SAT;
+    }
+
+    /**
+     * @return a copy of the configuration of this engine.
+     */
+    public ResolutionConfig getConfig() {
+        return new ResolutionConfig(this.config);
+    }
+
+    /**
+     * adds a clause at the end of the list of clauses considered by the resolution method,
+     * and indexes it under each of its literals.
+     *
+     * @param c the clause to be added.
+     * @param isSupported true, if the clause is in the set of support.
+     */
+    private void addClause(Clause c, boolean isSupported) {
+        int position = listCl.size();
+
+        listCl.add(c);
+        positions.put(c, position);
+        occurrences.add(c);
+        subsumption.add(c);
+        if (isSupported) supported.add(c);
+
+        //initializes the set of positions already visited by the new clause
+        visited.put(position, new HashSet<>());
+    }
+
+    /**
+     * removes a clause from the list of clauses considered by the resolution method,
+     * from the indexes and from the bookkeeping of the visited pairs.
+     * the position of the clause in the list is left empty.
+     *
+     * @param c the clause to be retired.
+     */
+    private void retireClause(Clause c) {
+        int position = positions.remove(c);
+
+        listCl.set(position, null);
+        occurrences.remove(c);
+        subsumption.remove(c);
+        supported.remove(c);
+        visited.remove(position);
+    }
+
+    /**
+     * moves a clause of the list into the set of support.
+     * the clause is added again at the end of the list, so that it is
+     * also resolved with the clauses outside the set of support.
+     * if the clause is already in the set of support, it does nothing.
+     *
+     * @param c the clause to be moved into the set of support.
+     */
+    private void addToSupport(Clause c) {
+        if (supported.contains(c)) return;
+
+        retireClause(c);
+        addClause(c, true);
+    }
+
+    /**
+     * 
+     * @param i the position of the first clause.
+     * @param j the position of the second clause.
+     * @return true, if the two clauses at positions i and j are already compared previously
+     *         by the resolution method. false otherwise.
+     */
+    private boolean alreadyVisited(int i, int j) {
+        if (i < j) {
+            return (visited.get(i)).contains(j);
+        }
+
+        //case i > j
+        return (visited.get(j)).contains(i);
+    }
+
+
+    /**
+     * 
+     * This method implements the resolution rule, in which two premise clauses are considered,
+     * a pair of complementary literals in the two clauses are deleted, 
+     * and the remaining literals are put into logical disjunction, 
+     * thus forming the resolving clause.
+     * 
+     * @param c1 the first clause.
+     * @param c2 the second clause.
+     * @param lit the literal that must be deleted, with its opposite. 
+     * @return the clause obtained by disjuncting the two clauses and 
+     *         deleting the pair of literals
+     */
+    private Clause resolRule(Clause c1, Clause c2, Literal lit) {
+        return c1.resolve(c2, lit.getCode());
+    }
+
+    /**
+     * prints the trace of the steps that have been performed by the resolution method.
+     */
+    private void printTrace() {
+        for (Step st : trace) {
+            System.out.println(st.toString());
+        }
+    }
+}
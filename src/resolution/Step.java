@@ -2,15 +2,13 @@ package resolution;
 
 import cnf.Clause;
 import literal.Literal;
+import java.util.List;
 
 /**
  * this class represents a resolution step, used to track how the resolution method works
  */
 public class Step {
 
-    //STATIC FIELDS
-    private static int count = 1;
-
     //FIELDS
     private int stepNumber; //the number of this step.
     private Clause premise1;
@@ -19,19 +17,27 @@ public class Step {
     private Literal complementary; //the literal used by the resolution step
     private boolean isTautology; //is true if the conclusion is a tautology
     private boolean isAlreadyPresent; //is true if the conclusion is already present in the set. 
+    private Clause subsumer; //the clause of the set which subsumes the conclusion, if any.
+    private List<Clause> retired; //the clauses of the set subsumed by the conclusion, if any.
 
     //CONSTRUCTORS
 
-    public Step(Clause premise1, Clause premise2, Clause conclusion, Literal complementary) {
+    /**
+     * @param stepNumber the number of the step, assigned by the engine which performs it.
+     * @param premise1 the first premise.
+     * @param premise2 the second premise.
+     * @param conclusion the resolvent of the premises.
+     * @param complementary the literal removed from the premises, with its opposite.
+     */
+    public Step(int stepNumber, Clause premise1, Clause premise2, Clause conclusion, Literal complementary) {
         this.premise1 = premise1;
         this.premise2 = premise2;
         this.conclusion = conclusion;
         this.complementary = complementary;
 
-        this.stepNumber = count;
+        this.stepNumber = stepNumber;
         this.isTautology = false;
         this.isAlreadyPresent = false;
-        count++;
     }
 
     //METHODS
@@ -51,6 +57,26 @@ public class Step {
         this.isAlreadyPresent = true;
     }
 
+    /**
+     * use this method to indicate that the conclusion is subsumed by a clause
+     * of the set considered by the resolution method
+     *
+     * @param subsumer the clause which subsumes the conclusion.
+     */
+    public void setSubsumed(Clause subsumer) {
+        this.subsumer = subsumer;
+    }
+
+    /**
+     * use this method to indicate that the conclusion subsumes some clauses of the set
+     * considered by the resolution method, which are removed from the set.
+     *
+     * @param retired the clauses subsumed by the conclusion.
+     */
+    public void setRetired(List<Clause> retired) {
+        this.retired = retired;
+    }
+
     @Override
     public String toString() {
         StringBuilder res = new StringBuilder();
@@ -69,6 +95,16 @@ public class Step {
             res.append("The conclusion is DISCARDED because it is already present in the set.\n");
         }
 
+        if (subsumer != null) {
+            res.append("The conclusion is DISCARDED because it is subsumed by " + subsumer.toString() + ".\n");
+        }
+
+        if (retired != null) {
+            for (Clause c : retired) {
+                res.append("The clause " + c.toString() + " is REMOVED because it is subsumed by the conclusion.\n");
+            }
+        }
+
         res.append("__________________________________________________________\n");
 
         return res.toString();
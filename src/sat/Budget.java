@@ -0,0 +1,139 @@
+package sat;
+
+import java.util.Objects;
+
+/**
+ * This class represents the resources that a SAT engine can use for a single call:
+ * the wall-clock time, the number of resolvents (or decisions), the number of clauses
+ * retained and the heap used by the JVM. Every limit is unbounded by default.
+ *
+ * The heap limit is approximate: it is compared with the memory used by the whole JVM,
+ * which is sampled from time to time, so it also counts the other threads and the garbage
+ * not yet collected.
+ *
+ * @see BudgetTracker
+ */
+public class Budget {
+
+    //STATIC FIELDS
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    //FIELDS
+    private long timeMillis;
+    private long resolvents;
+    private long clauses;
+    private long heapBytes;
+
+    //CONSTRUCTORS
+
+    /**
+     * Constructs a new budget without limits.
+     */
+    public Budget() {
+        this.timeMillis = UNLIMITED;
+        this.resolvents = UNLIMITED;
+        this.clauses = UNLIMITED;
+        this.heapBytes = UNLIMITED;
+    }
+
+    /**
+     * Constructs a copy of the specified budget.
+     *
+     * @param other the budget to be copied.
+     * @throws NullPointerException if other is null.
+     */
+    public Budget(Budget other) {
+        Objects.requireNonNull(other);
+
+        this.timeMillis = other.timeMillis;
+        this.resolvents = other.resolvents;
+        this.clauses = other.clauses;
+        this.heapBytes = other.heapBytes;
+    }
+
+    //METHODS
+
+    /**
+     * @param millis the maximum wall-clock time of a call, in milliseconds.
+     * @throws IllegalArgumentException if millis is not positive.
+     */
+    public void setTimeLimit(long millis) {
+        this.timeMillis = positive(millis);
+    }
+
+    /**
+     * @return the maximum wall-clock time of a call, in milliseconds.
+     */
+    public long getTimeLimit() {
+        return this.timeMillis;
+    }
+
+    /**
+     * @param n the maximum number of resolvents computed (or decisions made) in a call.
+     * @throws IllegalArgumentException if n is not positive.
+     */
+    public void setMaxResolvents(long n) {
+        this.resolvents = positive(n);
+    }
+
+    /**
+     * @return the maximum number of resolvents computed (or decisions made) in a call.
+     */
+    public long getMaxResolvents() {
+        return this.resolvents;
+    }
+
+    /**
+     * @param n the maximum number of clauses retained by the engine at the same time.
+     * @throws IllegalArgumentException if n is not positive.
+     */
+    public void setMaxClauses(long n) {
+        this.clauses = positive(n);
+    }
+
+    /**
+     * @return the maximum number of clauses retained by the engine at the same time.
+     */
+    public long getMaxClauses() {
+        return this.clauses;
+    }
+
+    /**
+     * @param bytes the maximum heap used by the JVM during a call, in bytes.
+     * @throws IllegalArgumentException if bytes is not positive.
+     */
+    public void setMaxHeapBytes(long bytes) {
+        this.heapBytes = positive(bytes);
+    }
+
+    /**
+     * @return the maximum heap used by the JVM during a call, in bytes.
+     */
+    public long getMaxHeapBytes() {
+        return this.heapBytes;
+    }
+
+    /**
+     * @return true, if no limit has been set.
+     */
+    public boolean isUnlimited() {
+        return this.timeMillis == UNLIMITED && this.resolvents == UNLIMITED
+            && this.clauses == UNLIMITED && this.heapBytes == UNLIMITED;
+    }
+
+    private static long positive(long value) {
+        if (value <= 0) throw new IllegalArgumentException("the limit must be positive");
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "time " + show(this.timeMillis) + " ms, resolvents " + show(this.resolvents)
+            + ", clauses " + show(this.clauses) + ", heap " + show(this.heapBytes) + " bytes";
+    }
+
+    private static String show(long value) {
+        return (value == UNLIMITED) ? "unlimited" : Long.toString(value);
+    }
+}
@@ -0,0 +1,124 @@
+package sat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps track of the resources used by a single call of a SAT engine,
+ * and tells the engine when a limit of its {@link Budget} has been reached,
+ * or its {@link CancellationToken} has been cancelled.
+ *
+ * The engine calls {@link #step(long)} for each resolvent (or decision) and
+ * {@link #check(long)} at any other point where it can stop. Once a limit has been
+ * reached, every following check returns it. The methods can be called by several
+ * threads, as the tasks of a parallel engine do.
+ */
+public class BudgetTracker {
+
+    //STATIC FIELDS
+    private static final int HEAP_PERIOD = 1024; //the steps between two samples of the heap
+
+    //FIELDS
+    private final Budget budget;
+    private final CancellationToken token; //null, if the call cannot be cancelled
+    private final long start; //nanoseconds
+    private final long deadline; //nanoseconds, meaningful only if the time is limited
+    private final AtomicLong steps;
+    private volatile Limit exceeded;
+
+    //CONSTRUCTORS
+
+    /**
+     * starts tracking a call.
+     *
+     * @param budget the budget of the call, which is copied.
+     * @param token the cancellation token of the call, null if the call cannot be cancelled.
+     * @throws NullPointerException if budget is null.
+     */
+    public BudgetTracker(Budget budget, CancellationToken token) {
+        this.budget = new Budget(budget);
+        this.token = token;
+        this.start = System.nanoTime();
+        this.deadline = (this.budget.getTimeLimit() == Budget.UNLIMITED) ? 0
+            : this.start + Math.min(this.budget.getTimeLimit(), Long.MAX_VALUE / 2000000) * 1000000;
+        this.steps = new AtomicLong();
+    }
+
+    //METHODS
+
+    /**
+     * counts a resolvent (or a decision) and checks the limits.
+     *
+     * @param retained the number of clauses retained by the engine.
+     * @return the limit which has been reached, null if the call can go on.
+     */
+    public Limit step(long retained) {
+        return this.steps(1, retained);
+    }
+
+    /**
+     * counts several resolvents (or decisions) at once and checks the limits,
+     * so a parallel engine can update the shared counter less often.
+     *
+     * @param count the number of resolvents.
+     * @param retained the number of clauses retained by the engine.
+     * @return the limit which has been reached, null if the call can go on.
+     */
+    public Limit steps(int count, long retained) {
+        long n = this.steps.addAndGet(count);
+
+        if (n > this.budget.getMaxResolvents()) return this.stop(Limit.RESOLVENTS);
+
+        if (n / HEAP_PERIOD != (n - count) / HEAP_PERIOD && this.budget.getMaxHeapBytes() != Budget.UNLIMITED) {
+            Runtime rt = Runtime.getRuntime();
+
+            if (rt.totalMemory() - rt.freeMemory() > this.budget.getMaxHeapBytes()) return this.stop(Limit.MEMORY);
+        }
+
+        return this.check(retained);
+    }
+
+    /**
+     * checks the limits, without counting a resolvent.
+     *
+     * @param retained the number of clauses retained by the engine.
+     * @return the limit which has been reached, null if the call can go on.
+     */
+    public Limit check(long retained) {
+        if (this.exceeded != null) return this.exceeded;
+
+        if (this.token != null && this.token.isCancelled()) return this.stop(Limit.CANCELLED);
+
+        if (retained > this.budget.getMaxClauses()) return this.stop(Limit.CLAUSES);
+
+        if (this.deadline != 0 && System.nanoTime() - this.deadline > 0) return this.stop(Limit.TIME);
+
+        return null;
+    }
+
+    /**
+     * @return the first limit which has been reached, null if no limit has been reached.
+     */
+    public Limit getExceeded() {
+        return this.exceeded;
+    }
+
+    /**
+     * @return the number of resolvents (or decisions) counted so far.
+     */
+    public long getSteps() {
+        return this.steps.get();
+    }
+
+    /**
+     * @return the milliseconds elapsed since the call started.
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - this.start) / 1000000;
+    }
+
+    private synchronized Limit stop(Limit limit) {
+        if (this.exceeded == null) this.exceeded = limit;
+
+        return this.exceeded;
+    }
+}
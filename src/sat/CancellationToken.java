@@ -0,0 +1,30 @@
+package sat;
+
+/**
+ * This class represents a token used to stop a running SAT engine from another thread.
+ *
+ * The engines check the token periodically, so they stop shortly after the token is
+ * cancelled, with the verdict UNKNOWN and the limit CANCELLED. A token cannot be reset:
+ * a new token is needed for each request that may be cancelled.
+ */
+public class CancellationToken {
+
+    //FIELDS
+    private volatile boolean cancelled;
+
+    //METHODS
+
+    /**
+     * cancels the calls which use this token. it can be called by any thread.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true, if the token has been cancelled.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
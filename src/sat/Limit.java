@@ -0,0 +1,19 @@
+package sat;
+
+/**
+ * This enumeration represents the limits of a {@link Budget} which can stop
+ * a SAT engine before it finds an answer.
+ */
+public enum Limit {
+    TIME,         //the wall-clock time
+    RESOLVENTS,   //the number of resolvents, or of decisions for the search engines
+    CLAUSES,      //the number of clauses retained by the engine
+    MEMORY,       //the heap used by the JVM
+    CANCELLED;    //the cancellation token of the call has been cancelled
+
+
+    @Override
+    public String toString() {
+        return this.name().toLowerCase();
+    }
+}
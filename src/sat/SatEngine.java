@@ -0,0 +1,19 @@
+package sat;
+
+import cnf.ClauseSet;
+
+/**
+ * This interface represents an engine which decides whether a set of clauses is satisfiable,
+ * within the budget given by its configuration.
+ */
+public interface SatEngine {
+
+    /**
+     * decides whether a set of clauses is satisfiable. the engine may simplify s in place.
+     *
+     * @param s the set of clauses.
+     * @return the result: SAT, UNSAT, or UNKNOWN with the limit which stopped the engine.
+     * @throws NullPointerException if s is null.
+     */
+    SatResult solve(ClauseSet s);
+}
@@ -0,0 +1,142 @@
+package sat;
+
+import literal.Literal;
+import literal.LiteralTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents the result of a call of a SAT engine: the verdict, the limit
+ * which stopped the engine when the verdict is UNKNOWN, the resources used and,
+ * for the engines which search an assignment, a model of a satisfiable set.
+ *
+ * Objects instantiated by this class are immutable.
+ */
+public class SatResult {
+
+    //FIELDS
+    private final Verdict verdict;
+    private final Limit limit; //null, unless the verdict is UNKNOWN
+    private final long steps;
+    private final long millis;
+    private final int[] model; //the codes of the true literals, null if there is no model
+
+    //CONSTRUCTORS
+
+    /**
+     * @param verdict the verdict of the call.
+     * @param limit the limit which stopped the engine, if the verdict is UNKNOWN.
+     * @param steps the number of resolvents (or decisions) of the call.
+     * @param millis the duration of the call, in milliseconds.
+     * @throws NullPointerException if verdict is null.
+     * @throws IllegalArgumentException if limit is null and the verdict is UNKNOWN,
+     *                                  or limit is not null and the verdict is not UNKNOWN.
+     */
+    public SatResult(Verdict verdict, Limit limit, long steps, long millis) {
+        Objects.requireNonNull(verdict);
+
+        if ((verdict == Verdict.UNKNOWN) != (limit != null)) {
+            throw new IllegalArgumentException("a limit is required if and only if the verdict is UNKNOWN");
+        }
+
+        this.verdict = verdict;
+        this.limit = limit;
+        this.steps = steps;
+        this.millis = millis;
+        this.model = null;
+    }
+
+    /**
+     * builds the result of a call from its tracker.
+     *
+     * @param verdict the verdict of the call: if it is UNKNOWN, the limit reached by the tracker.
+     * @param tracker the tracker of the call.
+     * @throws NullPointerException if verdict or tracker is null.
+     * @throws IllegalArgumentException if the verdict is UNKNOWN and no limit has been reached.
+     */
+    public SatResult(Verdict verdict, BudgetTracker tracker) {
+        this(verdict, (verdict == Verdict.UNKNOWN) ? tracker.getExceeded() : null,
+            tracker.getSteps(), tracker.getElapsedMillis());
+    }
+
+    /**
+     * builds the result SAT of a call, with a model.
+     *
+     * @param model the codes of the literals true in the model, one for each atom of the clauses.
+     *              the array is copied.
+     * @param tracker the tracker of the call.
+     * @throws NullPointerException if model or tracker is null.
+     */
+    public SatResult(int[] model, BudgetTracker tracker) {
+        this.verdict = Verdict.SAT;
+        this.limit = null;
+        this.steps = tracker.getSteps();
+        this.millis = tracker.getElapsedMillis();
+        this.model = model.clone();
+    }
+
+    //METHODS
+
+    /**
+     * @return the verdict of the call.
+     */
+    public Verdict getVerdict() {
+        return this.verdict;
+    }
+
+    /**
+     * @return true if the verdict is SAT, false if it is UNSAT.
+     * @throws IllegalStateException if the verdict is UNKNOWN.
+     */
+    public boolean isSatisfiable() {
+        if (this.verdict == Verdict.UNKNOWN) {
+            throw new IllegalStateException("the " + this.limit + " limit has been reached");
+        }
+
+        return this.verdict == Verdict.SAT;
+    }
+
+    /**
+     * @return the limit which stopped the engine, null if the verdict is not UNKNOWN.
+     */
+    public Limit getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * @return the number of resolvents (or decisions) of the call.
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+
+    /**
+     * @return the duration of the call, in milliseconds.
+     */
+    public long getMillis() {
+        return this.millis;
+    }
+
+    /**
+     * @return the unmodifiable list of the literals true in the model, one for each atom
+     *         of the clauses. null, if the engine does not produce a model.
+     */
+    public List<Literal> getModel() {
+        if (this.model == null) return null;
+
+        List<Literal> res = new ArrayList<>(this.model.length);
+
+        for (int code : this.model) {
+            res.add(LiteralTable.toLiteral(code));
+        }
+
+        return Collections.unmodifiableList(res);
+    }
+
+    @Override
+    public String toString() {
+        return (this.limit == null) ? this.verdict.toString() : this.verdict + " (" + this.limit + " limit reached)";
+    }
+}
@@ -0,0 +1,10 @@
+package sat;
+
+/**
+ * This enumeration represents the answer of a SAT engine about a set of clauses.
+ */
+public enum Verdict {
+    SAT,       //the set of clauses is satisfiable
+    UNSAT,     //the set of clauses is unsatisfiable
+    UNKNOWN;   //the engine stopped before an answer, because a limit was reached
+}
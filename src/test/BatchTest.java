@@ -0,0 +1,130 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.regex.Pattern;
+import org.junit.*;
+import cnf.Preprocessor;
+import formula.CnfTransformation;
+import resolution.Batch;
+import resolution.EngineType;
+import sat.Budget;
+
+/**
+ * This class contains JUnit tests to verify the Batch class: the results are printed
+ * in the order of the input, numbered by their lines, followed by the summary.
+ */
+public class BatchTest {
+
+    @Test
+    public void testResultsInInputOrder() throws IOException {
+        String input = "a | ~a\n"
+            + "\n"
+            + "a -> b\n"
+            + "->\n"
+            + "((a -> b) & (b -> c)) -> (a -> c)\n"
+            + "   \n"
+            + "a & ~a\n";
+
+        for (int threads = 1; threads <= 4; threads++) {
+            String[] lines = run(new Batch(threads, CnfTransformation.EXHAUSTIVE, null, false, new Budget(), null), input);
+
+            //the blank lines are skipped, but counted
+            assertEquals(6, lines.length);
+            assertResult("1: tautology", lines[0]);
+            assertResult("3: not a tautology", lines[1]);
+            assertResult("4: not a well-formed formula", lines[2]);
+            assertResult("5: tautology", lines[3]);
+            assertResult("7: not a tautology", lines[4]);
+            assertTrue(lines[5], lines[5].startsWith("2 tautologies, 2 non tautologies, 1 not well-formed, 0 unknown, 0 errors, "));
+        }
+    }
+
+    @Test
+    public void testSetOfSupportAndPreprocessor() throws IOException {
+        String input = "((a -> b) & (b -> c)) -> (a -> c)\n"
+            + "(a -> b) -> (b -> a)\n"
+            + "a | ~a\n";
+        Batch b = new Batch(2, CnfTransformation.TSEITIN, new Preprocessor(), true, new Budget(), null);
+        String[] lines = run(b, input);
+
+        assertEquals(4, lines.length);
+        assertResult("1: tautology", lines[0]);
+        assertResult("2: not a tautology", lines[1]);
+        assertResult("3: tautology", lines[2]);
+        assertTrue(lines[3], lines[3].startsWith("2 tautologies, 1 non tautologies, 0 not well-formed, 0 unknown, 0 errors, "));
+    }
+
+    @Test
+    public void testErrorAndUnknown() throws IOException {
+        //a formula too deeply nested for the stack of the parser
+        StringBuilder deep = new StringBuilder();
+
+        for (int i = 0; i < 100000; i++) deep.append('(');
+        deep.append('a');
+        for (int i = 0; i < 100000; i++) deep.append(')');
+
+        Budget budget = new Budget();
+        budget.setMaxResolvents(1);
+
+        //no unit clause in the negation: the resolution method needs more than a resolvent
+        String input = "a | ~a\n" + deep + "\n((a | b) & (a | ~b) & (~a | b)) -> (a & b)\n";
+        String[] lines = run(new Batch(2, CnfTransformation.EXHAUSTIVE, null, false, budget, null), input);
+
+        //the other lines are checked anyway
+        assertEquals(4, lines.length);
+        assertResult("1: tautology", lines[0]);
+        assertResult("2: error (java.lang.StackOverflowError)", lines[1]);
+        assertResult("3: unknown (resolvents limit reached)", lines[2]);
+        assertTrue(lines[3], lines[3].startsWith("1 tautologies, 0 non tautologies, 0 not well-formed, 1 unknown, 1 errors, "));
+    }
+
+    @Test
+    public void testPortfolioWins() throws IOException {
+        String input = "a | ~a\n"
+            + "a -> b\n"
+            + "((a -> b) & (b -> c)) -> (a -> c)\n";
+        EngineType[] types = { EngineType.DPLL, EngineType.CDCL };
+        String[] lines = run(new Batch(2, CnfTransformation.EXHAUSTIVE, null, false, new Budget(), types), input);
+
+        assertEquals(5, lines.length);
+        assertTrue(lines[0], lines[0].matches("1: tautology \\(\\d+[.,]\\d+ ms, (dpll|cdcl)\\)"));
+        assertTrue(lines[1], lines[1].matches("2: not a tautology \\(\\d+[.,]\\d+ ms, (dpll|cdcl)\\)"));
+        assertTrue(lines[2], lines[2].matches("3: tautology \\(\\d+[.,]\\d+ ms, (dpll|cdcl)\\)"));
+        assertTrue(lines[3], lines[3].startsWith("2 tautologies, 1 non tautologies, 0 not well-formed, 0 unknown, 0 errors, "));
+
+        //each formula is won by one engine
+        String[] wins = lines[4].split(" ");
+
+        assertEquals(lines[4], 5, wins.length);
+        assertEquals("wins:", wins[0]);
+        assertEquals("dpll", wins[1]);
+        assertEquals("cdcl", wins[3]);
+        assertEquals(3, Integer.parseInt(wins[2]) + Integer.parseInt(wins[4]));
+    }
+
+    /**
+     * checks a line of result, whose time is not known in advance.
+     */
+    private static void assertResult(String expected, String line) {
+        assertTrue(line, line.matches(Pattern.quote(expected) + " \\(\\d+[.,]\\d+ ms\\)"));
+    }
+
+    /**
+     * @return the lines printed by the batch on the input.
+     */
+    private static String[] run(Batch b, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (PrintStream ps = new PrintStream(out)) {
+            b.run(new BufferedReader(new StringReader(input)), ps);
+        }
+
+        return out.toString().split("\\R");
+    }
+}
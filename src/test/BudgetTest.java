@@ -0,0 +1,124 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static test.SatFixtures.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+import resolution.GivenClauseResolution;
+import resolution.ParallelResolution;
+import resolution.ResolutionConfig;
+import resolution.ResolutionEngine;
+import sat.*;
+
+/**
+ * This class contains JUnit tests to verify that the resolution engines stop with
+ * the verdict UNKNOWN when a limit of their budget is reached, or when their
+ * cancellation token is cancelled, using the pigeonhole principle with 7 pigeons
+ * and 6 holes, which is unsatisfiable and hard for the resolution method.
+ */
+public class BudgetTest {
+
+    @Test
+    public void testTimeLimit() {
+        Budget budget = new Budget();
+        budget.setTimeLimit(200);
+
+        for (SatEngine engine : engines(budget, null)) {
+            long start = System.currentTimeMillis();
+            SatResult result = engine.solve(pigeonhole(7, 6));
+
+            assertEquals(Verdict.UNKNOWN, result.getVerdict());
+            assertEquals(Limit.TIME, result.getLimit());
+            assertTrue(System.currentTimeMillis() - start < 5000);
+        }
+    }
+
+    @Test
+    public void testResolventsAndClausesLimits() {
+        Budget budget = new Budget();
+        budget.setMaxResolvents(500);
+
+        for (SatEngine engine : engines(budget, null)) {
+            assertEquals(Limit.RESOLVENTS, engine.solve(pigeonhole(7, 6)).getLimit());
+        }
+
+        budget = new Budget();
+        budget.setMaxClauses(200);
+
+        for (SatEngine engine : engines(budget, null)) {
+            assertEquals(Limit.CLAUSES, engine.solve(pigeonhole(7, 6)).getLimit());
+        }
+    }
+
+    @Test
+    public void testCancellation() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            token.cancel();
+        });
+
+        canceller.start();
+
+        SatResult result = new ResolutionEngine(config(new Budget(), token)).solve(pigeonhole(7, 6));
+
+        canceller.join();
+        assertEquals(Limit.CANCELLED, result.getLimit());
+
+        //a cancelled token stops every engine immediately
+        for (SatEngine engine : engines(new Budget(), token)) {
+            assertEquals(Limit.CANCELLED, engine.solve(pigeonhole(7, 6)).getLimit());
+        }
+
+        try {
+            new ResolutionEngine(config(new Budget(), token)).isSatisfiable(pigeonhole(7, 6));
+            fail("the call has been cancelled");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testWithinBudget() {
+        Budget budget = new Budget();
+        budget.setTimeLimit(60000);
+        budget.setMaxResolvents(1000000);
+
+        for (SatEngine engine : engines(budget, null)) {
+            SatResult result = engine.solve(pigeonhole(3, 2));
+
+            assertEquals(Verdict.UNSAT, result.getVerdict());
+            assertNull(result.getLimit());
+            assertEquals(Verdict.SAT, engine.solve(pigeonhole(2, 2)).getVerdict());
+        }
+    }
+
+    /**
+     * @return the engines to be tested, with the specified budget and token.
+     */
+    private SatEngine[] engines(Budget budget, CancellationToken token) {
+        ResolutionConfig config = config(budget, token);
+
+        return new SatEngine[] {
+            new ResolutionEngine(config),
+            new GivenClauseResolution(config),
+            new ParallelResolution(config, ForkJoinPool.commonPool())
+        };
+    }
+
+    private ResolutionConfig config(Budget budget, CancellationToken token) {
+        ResolutionConfig config = new ResolutionConfig();
+        config.setBudget(budget);
+        config.setCancellationToken(token);
+
+        return config;
+    }
+}
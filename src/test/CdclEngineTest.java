@@ -0,0 +1,85 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import literal.LiteralTable;
+import resolution.CdclEngine;
+import resolution.DpllEngine;
+import resolution.ResolutionConfig;
+import sat.*;
+
+/**
+ * This class runs the JUnit tests of SatEngineTest on the CdclEngine class, and
+ * compares its verdicts on random sets of clauses with the ones of the DPLL procedure:
+ * the models found are checked against the clauses.
+ */
+public class CdclEngineTest extends SatEngineTest {
+
+    @Override
+    protected SatEngine engine(ResolutionConfig config) {
+        return new CdclEngine(config);
+    }
+
+    @Test
+    public void testRandomSets() {
+        Random random = new Random(42);
+        int[] atoms = new int[100];
+
+        for (int i = 0; i < atoms.length; i++) {
+            atoms[i] = LiteralTable.intern("cdcl_r" + i);
+        }
+
+        //sets of 3 literal clauses with 4.26 clauses per atom, about half of them satisfiable
+        for (int k = 0; k < 20; k++) {
+            ClauseSet s = new ClauseSet();
+
+            for (int i = 0; i < 426; i++) {
+                int[] codes = new int[3];
+
+                for (int j = 0; j < 3; j++) {
+                    int atom = atoms[random.nextInt(atoms.length)];
+                    codes[j] = random.nextBoolean() ? LiteralTable.positive(atom) : LiteralTable.negative(atom);
+                }
+
+                s.add(Clause.of(codes));
+            }
+
+            SatResult result = new CdclEngine().solve(s);
+
+            assertEquals(new DpllEngine().solve(s).getVerdict(), result.getVerdict());
+
+            if (result.getVerdict() == Verdict.SAT) assertModel(s, result.getModel());
+        }
+    }
+
+    @Test
+    public void testRefutation() {
+        ResolutionConfig config = new ResolutionConfig();
+        config.setEnableSteps(true);
+
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+
+        try {
+            new CdclEngine(config).solve(pigeonhole(4, 3));
+        } finally {
+            System.setOut(stdout);
+        }
+
+        //the last step of the refutation derives the empty clause
+        String trace = out.toString();
+        int last = trace.lastIndexOf("STEP NUMBER");
+
+        assertTrue(last >= 0);
+        assertTrue(trace.substring(last).contains("Conclusion: {}"));
+        assertTrue(trace.contains("CDCL: UNSAT"));
+    }
+}
@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import org.junit.*;
+import cnf.Clause;
+import literal.*;
+
+/**
+ * This class contains JUnit tests to verify the packed representation
+ * of the Clause class: equality and hashing by content, the linear merge
+ * used by union and by the resolution rule, and the tautology detection.
+ */
+public class ClauseTest {
+
+    @Test
+    public void testEqualClausesHaveSameHash() {
+        Clause c1 = new Clause(Arrays.asList(new Atom("a"), new NegAtom("b"), new Atom("a")));
+        Clause c2 = new Clause(Arrays.asList(new NegAtom("b"), new Atom("a")));
+
+        assertEquals(c1, c2);
+        assertEquals(c1.hashCode(), c2.hashCode());
+        assertEquals(2, c1.size());
+    }
+
+    @Test
+    public void testOppositeIsInterned() {
+        Literal a = new Atom("a");
+
+        assertTrue(a.getOpposite() == a.getOpposite());
+        assertEquals(new NegAtom("a"), a.getOpposite());
+        assertEquals(a, a.getOpposite().getOpposite());
+    }
+
+    @Test
+    public void testUnion() {
+        Clause c1 = new Clause(Arrays.asList(new Atom("a"), new Atom("b")));
+        Clause c2 = new Clause(Arrays.asList(new Atom("b"), new NegAtom("c")));
+        Clause expected = new Clause(Arrays.asList(new Atom("a"), new Atom("b"), new NegAtom("c")));
+
+        assertEquals(expected, c1.union(c2));
+        assertFalse(c1.union(c2).isTautology());
+    }
+
+    @Test
+    public void testResolve() {
+        Literal b = new Atom("b");
+        Clause c1 = new Clause(Arrays.asList(new Atom("a"), b));
+        Clause c2 = new Clause(Arrays.asList(new NegAtom("b"), new NegAtom("c")));
+        Clause expected = new Clause(Arrays.asList(new Atom("a"), new NegAtom("c")));
+
+        assertEquals(b.getCode(), c1.complementaryLiteral(c2));
+        assertEquals(expected, c1.resolve(c2, b.getCode()));
+        assertTrue(new Clause(b).resolve(new Clause(b.getOpposite()), b.getCode()).isEmpty());
+    }
+
+    @Test
+    public void testTautology() {
+        Clause c = new Clause(Arrays.asList(new Atom("a"), new Atom("b"), new NegAtom("a")));
+
+        assertTrue(c.isTautology());
+        assertFalse(new Clause(new Atom("a")).isTautology());
+    }
+
+    @Test
+    public void testSubsumes() {
+        Clause c1 = new Clause(new NegAtom("b"));
+        Clause c2 = new Clause(Arrays.asList(new Atom("a"), new NegAtom("b")));
+
+        assertTrue(c1.subsumes(c2));
+        assertFalse(c2.subsumes(c1));
+        assertTrue(new Clause().subsumes(c1));
+    }
+}
@@ -0,0 +1,131 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.*;
+import antlr4.ParseFormula;
+import static connective.Connective.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import formula.*;
+import literal.LiteralTable;
+import resolution.Resolution;
+
+/**
+ * This class contains JUnit tests to verify that every CNF transformation
+ * produces a clause set which is satisfiable if and only if the formula is,
+ * using the same tautologies and non-tautologies used by ResolutionTest.
+ */
+public class CnfTransformationTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    @Test
+    public void testTautologies() {
+        for (CnfTransformation t : CnfTransformation.values()) {
+            for (int i = 1; i <= TAUTOLOGIES; i++) {
+                Formula not_f = new CompoundFormula(NOT, parseFile("taut" + i + ".txt"));
+
+                assertFalse(t + " taut" + i, Resolution.isSatisfiable(not_f.toCnf(t)));
+            }
+        }
+    }
+
+    @Test
+    public void testNonTautologies() {
+        for (CnfTransformation t : CnfTransformation.values()) {
+            for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                Formula not_f = new CompoundFormula(NOT, parseFile("non-taut" + i + ".txt"));
+
+                assertTrue(t + " non-taut" + i, Resolution.isSatisfiable(not_f.toCnf(t)));
+            }
+        }
+    }
+
+    @Test
+    public void testPolarityIsSmaller() {
+        for (int i = 1; i <= TAUTOLOGIES; i++) {
+            Formula not_f = new CompoundFormula(NOT, parseFile("taut" + i + ".txt"));
+
+            int tseitin = not_f.toCnf(CnfTransformation.TSEITIN).size();
+            int polarity = not_f.toCnf(CnfTransformation.POLARITY).size();
+
+            assertTrue("taut" + i, polarity <= tseitin);
+        }
+    }
+
+    @Test
+    public void testDeepFormula() {
+        //a1 -> (a2 -> ... -> (an -> a0)), with 100000 nested implications
+        Formula f = new AtomicFormula("a0");
+
+        for (int i = 100000; i >= 1; i--) {
+            f = new CompoundFormula(IMPLIES, new AtomicFormula("a" + (i % 50)), f);
+        }
+
+        Formula not_f = new CompoundFormula(NOT, f);
+
+        //the negation is a1 & ... & an & ~a0, with 50 distinct atoms
+        assertEquals(51, not_f.toCnf().size());
+
+        for (CnfTransformation t : CnfTransformation.values()) {
+            assertFalse(t.toString(), not_f.toCnf(t).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFreshAtoms() {
+        for (CnfTransformation t : new CnfTransformation[] { CnfTransformation.TSEITIN, CnfTransformation.POLARITY }) {
+            //the sets of two different conversions are joined: their new atoms must be different
+            ClauseSet first = ParseFormula.parse("a & b").toCnf(t);
+            ClauseSet second = ParseFormula.parse("~(c & d)").toCnf(t);
+
+            Set<Integer> atoms = new HashSet<>();
+
+            for (Clause c : first) {
+                for (int i = 0; i < c.size(); i++) atoms.add(LiteralTable.variable(c.literalAt(i)));
+            }
+
+            for (Clause c : second) {
+                for (int i = 0; i < c.size(); i++) {
+                    assertFalse(t.toString(), atoms.contains(LiteralTable.variable(c.literalAt(i))));
+                }
+            }
+
+            assertTrue(t.toString(), Resolution.isSatisfiable(first.union(second)));
+        }
+    }
+
+    @Test
+    public void testCnfCache() {
+        CnfCache previous = Formula.getCnfCache();
+        CnfCache cache = new CnfCache(CnfCache.DEFAULT_CAPACITY);
+
+        try {
+            Formula.setCnfCache(cache);
+
+            for (int i = 1; i <= TAUTOLOGIES; i++) {
+                Formula f = parseFile("taut" + i + ".txt");
+                ClauseSet first = new CompoundFormula(NOT, f).toCnf();
+                long hits = cache.getHits();
+                ClauseSet second = new CompoundFormula(NOT, parseFile("taut" + i + ".txt")).toCnf();
+
+                //the second conversion finds the whole negated formula in the cache
+                assertEquals("taut" + i, first.size(), second.size());
+                for (Clause c : first) assertTrue("taut" + i, second.contains(c));
+                assertEquals("taut" + i, hits + 1, cache.getHits());
+            }
+
+            Formula.setCnfCache(new CnfCache(0));
+            assertFalse(Resolution.isSatisfiable(new CompoundFormula(NOT, parseFile("taut1.txt")).toCnf()));
+            assertEquals(0, Formula.getCnfCache().size());
+        } finally {
+            Formula.setCnfCache(previous);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static test.SatFixtures.*;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import literal.LiteralTable;
+import resolution.DavisPutnamEngine;
+import resolution.ResolutionConfig;
+import sat.*;
+
+/**
+ * This class runs the JUnit tests of SatEngineTest on the DavisPutnamEngine class, with
+ * smaller pigeonhole sets, and checks it on a long cycle of atoms with alternating values:
+ * the models found are checked against the clauses.
+ */
+public class DavisPutnamEngineTest extends SatEngineTest {
+
+    @Override
+    protected SatEngine engine(ResolutionConfig config) {
+        return new DavisPutnamEngine(config);
+    }
+
+    @Override
+    protected int holes() {
+        return 4;
+    }
+
+    @Test
+    public void testCycle() {
+        //each atom has the opposite value of the next one: a cycle of odd length is unsatisfiable
+        for (int length : new int[] { 301, 300 }) {
+            ClauseSet s = new ClauseSet();
+
+            for (int i = 0; i < length; i++) {
+                int x = LiteralTable.intern("dp_c" + i);
+                int y = LiteralTable.intern("dp_c" + ((i + 1) % length));
+
+                s.add(Clause.of(LiteralTable.positive(x), LiteralTable.positive(y)));
+                s.add(Clause.of(LiteralTable.negative(x), LiteralTable.negative(y)));
+            }
+
+            SatResult result = new DavisPutnamEngine().solve(s);
+
+            if (length % 2 == 1) {
+                assertEquals(Verdict.UNSAT, result.getVerdict());
+            } else {
+                assertEquals(Verdict.SAT, result.getVerdict());
+                assertModel(s, result.getModel());
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.*;
+import antlr4.ParseFormula;
+import static connective.Connective.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import cnf.Dimacs;
+import formula.*;
+import literal.LiteralTable;
+import resolution.Resolution;
+
+/**
+ * This class contains JUnit tests to verify that the Dimacs class writes
+ * and reads back the same clause set, and parses hand-written DIMACS files.
+ */
+public class DimacsTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Formula f = ParseFormula.parse("((p -> (q & ~r)) <-> (~p | r))");
+        ClauseSet cnf = new CompoundFormula(NOT, f).toCnf(CnfTransformation.TSEITIN);
+        Path file = Files.createTempFile("dimacs", ".cnf");
+
+        try {
+            Dimacs.write(cnf, file);
+            ClauseSet read = Dimacs.read(file);
+
+            assertEquals(cnf.size(), read.size());
+
+            //the new atoms of the conversion are renamed by the reader, as "_t" + n + "_" + m
+            ClauseSet renamed = new ClauseSet();
+
+            for (Clause c : read) {
+                int[] codes = new int[c.size()];
+
+                for (int i = 0; i < c.size(); i++) {
+                    int code = c.literalAt(i);
+                    String name = LiteralTable.getName(LiteralTable.variable(code));
+
+                    if (name.startsWith("_")) {
+                        assertTrue(name, name.lastIndexOf('_') > 0);
+                        name = name.substring(0, name.lastIndexOf('_'));
+                    }
+
+                    int var = LiteralTable.intern(name);
+                    codes[i] = LiteralTable.isNegative(code) ? LiteralTable.negative(var) : LiteralTable.positive(var);
+                }
+
+                renamed.add(Clause.of(codes));
+            }
+
+            for (Clause c : cnf) {
+                assertTrue(c.toString(), renamed.contains(c));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        String text = "c an example\n"
+            + "p cnf 3 4\n"
+            + "1 -2 0 2 3 0\n"
+            + "-1\n"
+            + "  -3 0\n"
+            + "3 0\n"
+            + "c var 3 dimacs_z\n";
+        Path file = Files.createTempFile("dimacs", ".cnf");
+
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            ClauseSet read = Dimacs.read(file);
+            int x1 = LiteralTable.intern("x1");
+            int x2 = LiteralTable.intern("x2");
+            int z = LiteralTable.intern("dimacs_z");
+
+            assertEquals(4, read.size());
+            assertTrue(read.contains(Clause.of(LiteralTable.positive(x1), LiteralTable.negative(x2))));
+            assertTrue(read.contains(Clause.of(LiteralTable.positive(x2), LiteralTable.positive(z))));
+            assertTrue(read.contains(Clause.of(LiteralTable.negative(x1), LiteralTable.negative(z))));
+            assertTrue(read.contains(Clause.of(LiteralTable.positive(z))));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Path file = Files.createTempFile("dimacs", ".cnf");
+
+        try {
+            Files.write(file, "p cnf 2 1\n1 a 0\n".getBytes(StandardCharsets.US_ASCII));
+            Dimacs.read(file);
+            fail("the character 'a' is not valid");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 2"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testHeaderMismatch() throws IOException {
+        //a literal beyond V; fewer and more clauses than C; a sign separated from its number
+        String[] texts = {
+            "p cnf 2 1\n1 -3 0\n",
+            "p cnf 2 2\n1 2 0\n",
+            "p cnf 2 1\n1 0\n-2 0\n",
+            "p cnf 3 1\n1 - 3 0\n",
+            "p cnf 3 1\n1 -\n3 0\n"
+        };
+
+        for (String text : texts) {
+            Path file = Files.createTempFile("dimacs", ".cnf");
+
+            try {
+                Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+                Dimacs.read(file);
+                fail("the file is not valid: " + text);
+            } catch (IOException e) {
+                //expected
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyOccurringVariablesInterned() throws IOException {
+        //a header declaring many variables, of which only two occur
+        String text = "p cnf 1000000 1\n999999 -7 0\nc var 5 dimacs_unused\n";
+        Path file = Files.createTempFile("dimacs", ".cnf");
+
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            LiteralTable.intern("x999999");
+            LiteralTable.intern("x7");
+            int size = LiteralTable.size();
+
+            ClauseSet read = Dimacs.read(file);
+
+            assertEquals(size, LiteralTable.size());
+            assertTrue(read.contains(Clause.of(LiteralTable.positive(LiteralTable.intern("x999999")),
+                    LiteralTable.negative(LiteralTable.intern("x7")))));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCollidingNames() throws IOException {
+        //the name of the variable 1 is the default name of the variable 2; two variables have the same name
+        String[] texts = {
+            "p cnf 2 2\n1 0\n-2 0\nc var 1 x2\n",
+            "p cnf 3 2\n1 0\n-2 0\nc var 1 dimacs_a\nc var 2 dimacs_a\n"
+        };
+
+        for (String text : texts) {
+            Path file = Files.createTempFile("dimacs", ".cnf");
+
+            try {
+                Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+                Dimacs.read(file);
+                fail("two variables have the same name: " + text);
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("same name") || e.getMessage().contains("unnamed"));
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testNewAtomsRenamed() throws IOException {
+        //a file written by another process, whose new atoms have the names of the new atoms of this one
+        Formula f = ParseFormula.parse("p & q");
+        ClauseSet cnf = f.toCnf(CnfTransformation.TSEITIN);
+        String name = null;
+
+        for (Clause c : cnf) {
+            for (int i = 0; i < c.size(); i++) {
+                String n = LiteralTable.getName(LiteralTable.variable(c.literalAt(i)));
+                if (n.startsWith("_")) name = n;
+            }
+        }
+
+        String text = "p cnf 1 1\n-1 0\nc var 1 " + name + "\n";
+        Path file = Files.createTempFile("dimacs", ".cnf");
+
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            ClauseSet read = Dimacs.read(file);
+
+            //the two sets have no atom in common, so their union is satisfiable
+            assertFalse(read.contains(Clause.of(LiteralTable.negative(LiteralTable.intern(name)))));
+            assertTrue(Resolution.isSatisfiable(cnf.union(read)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package test;
+
+import resolution.DpllEngine;
+import resolution.ResolutionConfig;
+import sat.SatEngine;
+
+/**
+ * This class runs the JUnit tests of SatEngineTest on the DpllEngine class.
+ */
+public class DpllEngineTest extends SatEngineTest {
+
+    @Override
+    protected SatEngine engine(ResolutionConfig config) {
+        return new DpllEngine(config);
+    }
+}
@@ -0,0 +1,50 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.*;
+import antlr4.ParseFormula;
+import static connective.Connective.*;
+import formula.*;
+
+/**
+ * This class contains JUnit tests to verify the hash-consing of the FormulaFactory
+ * class: equal formulas are the same object, and the structural equality and
+ * hashing of the formulas which are not built by a factory.
+ */
+public class FormulaFactoryTest {
+
+    @Test
+    public void testEqualFormulasAreShared() {
+        FormulaFactory factory = new FormulaFactory();
+        Formula f1 = factory.compound(AND, factory.atom("a"), factory.not(factory.atom("b")));
+        Formula f2 = factory.compound(AND, factory.atom("a"), factory.not(factory.atom("b")));
+
+        assertTrue(f1 == f2);
+        assertEquals(4, factory.size()); //a, b, ~b and (a & ~b)
+    }
+
+    @Test
+    public void testStructuralEquality() {
+        Formula f1 = new CompoundFormula(IFF, new AtomicFormula("a"), new CompoundFormula(NOT, new AtomicFormula("b")));
+        Formula f2 = new CompoundFormula(IFF, new AtomicFormula("a"), new CompoundFormula(NOT, new AtomicFormula("b")));
+        Formula f3 = new CompoundFormula(IFF, new AtomicFormula("a"), new AtomicFormula("b"));
+
+        assertEquals(f1, f2);
+        assertEquals(f1.hashCode(), f2.hashCode());
+        assertNotEquals(f1, f3);
+    }
+
+    @Test
+    public void testIntern() {
+        FormulaFactory factory = new FormulaFactory();
+        Formula parsed = ParseFormula.parse("((a | b) <-> (a | b))", factory);
+        Formula built = new CompoundFormula(OR, new AtomicFormula("a"), new AtomicFormula("b"));
+        CompoundFormula iff = (CompoundFormula) parsed;
+
+        assertTrue(iff.getLeftSubformula() == iff.getRightSubformula());
+        assertTrue(factory.intern(built) == iff.getLeftSubformula());
+        assertTrue(factory.intern(parsed) == parsed);
+    }
+}
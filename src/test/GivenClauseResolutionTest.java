@@ -0,0 +1,100 @@
+package test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.util.Arrays;
+import org.junit.*;
+import static connective.Connective.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import formula.*;
+import literal.*;
+import resolution.ClauseSelection;
+import resolution.GivenClauseResolution;
+import resolution.ResolutionConfig;
+
+/**
+ * This class contains JUnit tests to verify the correctness of the
+ * GivenClauseResolution class, with every clause selection heuristic,
+ * on the same tautologies and non-tautologies used by ResolutionTest,
+ * and the retirement of the active and passive clauses subsumed by a resolvent.
+ */
+public class GivenClauseResolutionTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    @Test
+    public void testTautologies() {
+        for (ClauseSelection sel : ClauseSelection.values()) {
+            for (int i = 1; i <= TAUTOLOGIES; i++) {
+                GivenClauseResolution engine = new GivenClauseResolution(sel);
+
+                assertFalse(sel + " taut" + i, engine.isSatisfiable(negatedCnf(parseFile("taut" + i + ".txt"))));
+            }
+        }
+    }
+
+    @Test
+    public void testNonTautologies() {
+        for (ClauseSelection sel : ClauseSelection.values()) {
+            for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                GivenClauseResolution engine = new GivenClauseResolution(sel);
+
+                assertTrue(sel + " non-taut" + i, engine.isSatisfiable(negatedCnf(parseFile("non-taut" + i + ".txt"))));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamedClauses() {
+        for (CnfTransformation t : CnfTransformation.values()) {
+            for (int i = 1; i <= TAUTOLOGIES; i++) {
+                Formula not_f = new CompoundFormula(NOT, parseFile("taut" + i + ".txt"));
+
+                assertFalse(t + " taut" + i, new GivenClauseResolution().isSatisfiable(not_f.cnfIterator(t)));
+            }
+
+            for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                Formula not_f = new CompoundFormula(NOT, parseFile("non-taut" + i + ".txt"));
+
+                assertTrue(t + " non-taut" + i, new GivenClauseResolution().isSatisfiable(not_f.cnfIterator(t)));
+            }
+        }
+    }
+
+    @Test
+    public void testRetiredClauses() {
+        Literal a = new Atom("ret_a");
+        Literal b = new Atom("ret_b");
+        Literal c = new Atom("ret_c");
+        Literal d = new Atom("ret_d");
+        Clause bcd = new Clause(Arrays.asList(b, c, d));
+
+        //a resolvent retires one of its own parents, and the passive clause {b, c, d}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(a, b, c)),
+            new Clause(Arrays.asList(a, c.getOpposite())),
+            new Clause(a.getOpposite()),
+            new Clause(b.getOpposite()),
+            bcd));
+
+        for (ClauseSelection sel : ClauseSelection.values()) {
+            ResolutionConfig config = new ResolutionConfig();
+            config.setEnableSteps(true);
+            config.setUnitPropagation(false);
+            config.setSelection(sel);
+
+            boolean[] satisfiable = new boolean[1];
+            String trace = captureOutput(() -> satisfiable[0] = new GivenClauseResolution(config).isSatisfiable(s));
+
+            assertFalse(sel.toString(), satisfiable[0]);
+            assertParentRetired(trace);
+            assertTrue(trace, trace.contains("The clause " + bcd + " is REMOVED"));
+
+            //a retired passive clause is never selected
+            assertFalse(trace, trace.contains("premise: " + bcd));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.Arrays;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import cnf.OccurrenceIndex;
+import literal.*;
+
+/**
+ * This class contains JUnit tests to verify the OccurrenceIndex class:
+ * the lists of the clauses containing each literal, as clauses are added and removed.
+ */
+public class OccurrenceIndexTest {
+
+    private final Literal a = new Atom("occ_a");
+    private final Literal b = new Atom("occ_b");
+    private final Literal c = new Atom("occ_c");
+
+    @Test
+    public void testAddAndGet() {
+        Clause ab = new Clause(Arrays.asList(this.a, this.b));
+        Clause notAc = new Clause(Arrays.asList(this.a.getOpposite(), this.c));
+        OccurrenceIndex index = new OccurrenceIndex(new ClauseSet(Arrays.asList(ab, notAc)));
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList(ab), index.get(this.a.getCode()));
+        assertEquals(Arrays.asList(notAc), index.get(this.a.getOpposite().getCode()));
+        assertEquals(1, index.count(this.b.getCode()));
+        assertEquals(1, index.count(this.c.getCode()));
+        assertEquals(0, index.count(this.c.getOpposite().getCode()));
+        assertTrue(index.get(this.b.getOpposite().getCode()).isEmpty());
+
+        //a literal never indexed, beyond the codes seen so far
+        int unseen = LiteralTable.positive(LiteralTable.intern("occ_unseen"));
+        assertEquals(0, index.count(unseen));
+        assertTrue(index.get(unseen).isEmpty());
+    }
+
+    @Test
+    public void testDuplicateAdd() {
+        Clause ab = new Clause(Arrays.asList(this.a, this.b));
+        OccurrenceIndex index = new OccurrenceIndex();
+
+        //the index does not merge equal clauses: each add is counted
+        index.add(ab);
+        index.add(ab);
+
+        assertEquals(2, index.size());
+        assertEquals(2, index.count(this.a.getCode()));
+
+        assertTrue(index.remove(ab));
+        assertEquals(1, index.size());
+        assertEquals(1, index.count(this.b.getCode()));
+
+        assertTrue(index.remove(ab));
+        assertEquals(0, index.size());
+        assertEquals(0, index.count(this.a.getCode()));
+    }
+
+    @Test
+    public void testRemove() {
+        Clause ab = new Clause(Arrays.asList(this.a, this.b));
+        Clause bc = new Clause(Arrays.asList(this.b, this.c));
+        OccurrenceIndex index = new OccurrenceIndex();
+
+        index.add(ab);
+        index.add(bc);
+
+        assertTrue(index.remove(ab));
+        assertEquals(1, index.size());
+        assertEquals(0, index.count(this.a.getCode()));
+        assertEquals(Arrays.asList(bc), index.get(this.b.getCode()));
+
+        //a clause which is not indexed, with indexed literals or not
+        assertFalse(index.remove(ab));
+        assertFalse(index.remove(new Clause(Arrays.asList(this.c.getOpposite(), new Atom("occ_unseen")))));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testUnmodifiableLists() {
+        OccurrenceIndex index = new OccurrenceIndex();
+        index.add(new Clause(this.a));
+
+        try {
+            index.get(this.a.getCode()).clear();
+            fail("the lists of the index cannot be modified");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+    }
+}
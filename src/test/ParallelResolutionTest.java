@@ -0,0 +1,78 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+import static connective.Connective.*;
+import formula.*;
+import resolution.ParallelResolution;
+import resolution.Resolution;
+import resolution.ResolutionConfig;
+
+/**
+ * This class contains JUnit tests to verify the correctness of the ParallelResolution
+ * class, with and without unit propagation and with the set-of-support strategy,
+ * using the same tautologies and non-tautologies used by ResolutionTest.
+ */
+public class ParallelResolutionTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testTautologies() {
+        for (boolean up : new boolean[] { true, false }) {
+            for (int i = 1; i <= TAUTOLOGIES; i++) {
+                assertFalse("taut" + i, engine(up).isSatisfiable(negatedCnf(parseFile("taut" + i + ".txt"))));
+            }
+        }
+    }
+
+    @Test
+    public void testNonTautologies() {
+        for (boolean up : new boolean[] { true, false }) {
+            for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                assertTrue("non-taut" + i, engine(up).isSatisfiable(negatedCnf(parseFile("non-taut" + i + ".txt"))));
+            }
+        }
+    }
+
+    @Test
+    public void testSetOfSupport() {
+        String[] files = { "taut8.txt", "non-taut4.txt" };
+
+        for (String file : files) {
+            CompoundFormula f = (CompoundFormula) parseFile(file);
+            Formula not_conclusion = new CompoundFormula(NOT, f.getRightSubformula());
+            boolean expected = Resolution.isSatisfiable(negatedCnf(f), not_conclusion.toCnf());
+
+            assertEquals(file, expected, engine(false).isSatisfiable(negatedCnf(f), not_conclusion.toCnf()));
+        }
+    }
+
+    /**
+     * @param unitPropagation true to enable the unit propagation.
+     * @return a new engine which uses the pool of the tests.
+     */
+    private ParallelResolution engine(boolean unitPropagation) {
+        ResolutionConfig config = new ResolutionConfig();
+        config.setUnitPropagation(unitPropagation);
+
+        return new ParallelResolution(config, pool);
+    }
+}
@@ -0,0 +1,106 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static test.SatFixtures.*;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import resolution.EngineType;
+import resolution.Portfolio;
+import resolution.PortfolioResult;
+import resolution.ResolutionConfig;
+import sat.*;
+
+/**
+ * This class contains JUnit tests to verify the Portfolio class: the verdict of the
+ * engine which answers first, the cancellation of the other engines, and the results
+ * of the races in which no engine answers.
+ */
+public class PortfolioTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    @Test
+    public void testVerdicts() {
+        Portfolio portfolio = new Portfolio(new ResolutionConfig(), EngineType.values());
+
+        for (int i = 1; i <= TAUTOLOGIES; i++) {
+            PortfolioResult race = portfolio.race(negatedCnf(parseFile("taut" + i + ".txt")));
+
+            assertEquals("taut" + i, Verdict.UNSAT, race.getResult().getVerdict());
+            assertNotNull(race.getWinner());
+        }
+
+        for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+            PortfolioResult race = portfolio.race(negatedCnf(parseFile("non-taut" + i + ".txt")));
+
+            assertEquals("non-taut" + i, Verdict.SAT, race.getResult().getVerdict());
+            assertNotNull(race.getWinner());
+        }
+    }
+
+    @Test
+    public void testLosersCancelled() {
+        //the resolution method does not answer in a reasonable time
+        Portfolio portfolio = new Portfolio(new ResolutionConfig(), EngineType.RESOLUTION, EngineType.CDCL);
+        ClauseSet s = pigeonhole(7, 6);
+        int size = s.size();
+        long start = System.currentTimeMillis();
+        PortfolioResult race = portfolio.race(s);
+
+        assertEquals(Verdict.UNSAT, race.getResult().getVerdict());
+        assertEquals(EngineType.CDCL, race.getWinner());
+        assertTrue(System.currentTimeMillis() - start < 10000);
+        assertEquals(size, s.size());
+
+        //the losers have stopped, so the set can be changed
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            assertFalse(t.getName(), t.getName().startsWith("portfolio-"));
+        }
+
+        s.add(new Clause());
+    }
+
+    @Test
+    public void testNoWinner() {
+        Budget budget = new Budget();
+        budget.setTimeLimit(200);
+        ResolutionConfig config = new ResolutionConfig();
+        config.setBudget(budget);
+
+        PortfolioResult race = new Portfolio(config, EngineType.RESOLUTION, EngineType.GIVEN_CLAUSE).race(pigeonhole(7, 6));
+
+        assertNull(race.getWinner());
+        assertEquals(Verdict.UNKNOWN, race.getResult().getVerdict());
+        assertEquals(Limit.TIME, race.getResult().getLimit());
+
+        //the token of the configuration cancels the whole race
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        config = new ResolutionConfig();
+        config.setCancellationToken(token);
+
+        race = new Portfolio(config, EngineType.RESOLUTION, EngineType.PARALLEL).race(pigeonhole(7, 6));
+
+        assertNull(race.getWinner());
+        assertEquals(Limit.CANCELLED, race.getResult().getLimit());
+    }
+
+    @Test
+    public void testTypes() {
+        assertEquals("given-clause", EngineType.GIVEN_CLAUSE.toString());
+
+        try {
+            new Portfolio(new ResolutionConfig());
+            fail("a portfolio without engines is not valid");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+}
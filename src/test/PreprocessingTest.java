@@ -0,0 +1,207 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.*;
+import cnf.*;
+import literal.*;
+import resolution.DpllEngine;
+import sat.SatResult;
+import sat.Verdict;
+
+/**
+ * This class contains JUnit tests to verify the simplifications
+ * applied to a clause set before the resolution method starts.
+ */
+public class PreprocessingTest {
+
+    @Test
+    public void testUnitPropagationSimplifies() {
+        //{a}; {~a, b}; {~b, c, d}; {~d, e}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(new Atom("a")),
+            new Clause(Arrays.asList(new NegAtom("a"), new Atom("b"))),
+            new Clause(Arrays.asList(new NegAtom("b"), new Atom("c"), new Atom("d"))),
+            new Clause(Arrays.asList(new NegAtom("d"), new Atom("e")))));
+
+        UnitPropagation up = UnitPropagation.apply(s);
+
+        assertFalse(up.isConflict());
+        assertEquals(Arrays.asList(new Atom("a").getCode(), new Atom("b").getCode()), up.getUnits());
+        assertEquals(2, up.getRemovedCount());
+        assertEquals(1, up.getStrengthened().size());
+        assertEquals(2, s.size());
+        assertTrue(s.contains(new Clause(Arrays.asList(new Atom("c"), new Atom("d")))));
+    }
+
+    @Test
+    public void testUnitPropagationConflict() {
+        //{a}; {~a, b}; {~b}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(new Atom("a")),
+            new Clause(Arrays.asList(new NegAtom("a"), new Atom("b"))),
+            new Clause(new NegAtom("b"))));
+
+        UnitPropagation up = UnitPropagation.apply(s);
+
+        assertTrue(up.isConflict());
+        assertEquals(3, s.size());
+    }
+
+    @Test
+    public void testPureLiterals() {
+        //{a, b}; {~b, c}; {~c, b}: "a" is pure, then nothing else
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(new Atom("a"), new Atom("b"))),
+            new Clause(Arrays.asList(new NegAtom("b"), new Atom("c"))),
+            new Clause(Arrays.asList(new NegAtom("c"), new Atom("b")))));
+
+        Preprocessor p = new Preprocessor();
+        for (PreprocessingPass pass : PreprocessingPass.values()) {
+            p.setEnabled(pass, pass == PreprocessingPass.PURE_LITERALS);
+        }
+
+        assertTrue(p.apply(s));
+        assertEquals(1, p.getChanges(PreprocessingPass.PURE_LITERALS));
+        assertEquals(2, s.size());
+        assertEquals(0, p.getChanges(PreprocessingPass.SUBSUMPTION));
+    }
+
+    @Test
+    public void testSelfSubsumption() {
+        //{a, b, c}; {~a, b}: the first clause is shortened to {b, c}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(new Atom("a"), new Atom("b"), new Atom("c"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new Atom("b")))));
+
+        Preprocessor p = new Preprocessor();
+        p.setEnabled(PreprocessingPass.PURE_LITERALS, false);
+
+        assertTrue(p.apply(s));
+        assertEquals(1, p.getChanges(PreprocessingPass.SELF_SUBSUMPTION));
+        assertTrue(s.contains(new Clause(Arrays.asList(new Atom("b"), new Atom("c")))));
+    }
+
+    @Test
+    public void testPipelineConflict() {
+        //{a, b}; {a, ~b}; {~a, b}; {~a, ~b}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(new Atom("a"), new Atom("b"))),
+            new Clause(Arrays.asList(new Atom("a"), new NegAtom("b"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new Atom("b"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new NegAtom("b")))));
+
+        Preprocessor p = new Preprocessor();
+
+        assertFalse(p.apply(s));
+        assertTrue(p.isConflict());
+    }
+
+    @Test
+    public void testVariableElimination() {
+        //{a, x}; {b, x}; {~x, c}; {~a, ~b, ~c}: "x" is replaced by {a, c}; {b, c}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(new Atom("a"), new Atom("x"))),
+            new Clause(Arrays.asList(new Atom("b"), new Atom("x"))),
+            new Clause(Arrays.asList(new NegAtom("x"), new Atom("c"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new NegAtom("b"), new NegAtom("c")))));
+
+        Preprocessor p = new Preprocessor();
+        for (PreprocessingPass pass : PreprocessingPass.values()) {
+            p.setEnabled(pass, pass == PreprocessingPass.VARIABLE_ELIMINATION);
+        }
+
+        assertFalse(new Preprocessor().isEnabled(PreprocessingPass.VARIABLE_ELIMINATION));
+        assertTrue(p.apply(s));
+        assertTrue(s.size() <= 3);
+        assertTrue(p.getChanges(PreprocessingPass.VARIABLE_ELIMINATION) >= 3);
+
+        List<Literal> model = p.extendModel(Collections.emptyList());
+
+        assertEquals(4, model.size());
+        assertTrue(s.isEmpty());
+    }
+
+    @Test
+    public void testVariableEliminationConflict() {
+        //{a, b}; {a, ~b}; {~a, c}; {~a, ~c}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(new Atom("a"), new Atom("b"))),
+            new Clause(Arrays.asList(new Atom("a"), new NegAtom("b"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new Atom("c"))),
+            new Clause(Arrays.asList(new NegAtom("a"), new NegAtom("c")))));
+
+        Preprocessor p = new Preprocessor();
+        for (PreprocessingPass pass : PreprocessingPass.values()) {
+            p.setEnabled(pass, pass == PreprocessingPass.VARIABLE_ELIMINATION);
+        }
+
+        assertFalse(p.apply(s));
+        assertTrue(s.contains(new Clause()));
+    }
+
+    @Test
+    public void testExtendModel() {
+        //random 3-SAT sets around the threshold, simplified by all the passes
+        Random random = new Random(25);
+        DpllEngine engine = new DpllEngine();
+
+        for (int k = 0; k < 200; k++) {
+            List<Clause> clauses = new ArrayList<>();
+
+            for (int i = 0; i < 85; i++) {
+                List<Literal> literals = new ArrayList<>();
+
+                for (int j = 0; j < 3; j++) {
+                    String name = "v" + random.nextInt(20);
+                    literals.add(random.nextBoolean() ? new Atom(name) : new NegAtom(name));
+                }
+
+                clauses.add(new Clause(literals));
+            }
+
+            ClauseSet original = new ClauseSet(clauses);
+            ClauseSet s = new ClauseSet(clauses);
+            Preprocessor p = new Preprocessor();
+            p.setEnabled(PreprocessingPass.VARIABLE_ELIMINATION, true);
+
+            boolean consistent = p.apply(s);
+            Verdict expected = engine.solve(original).getVerdict();
+
+            if (!consistent) {
+                assertEquals(Verdict.UNSAT, expected);
+                continue;
+            }
+
+            SatResult result = engine.solve(s);
+
+            assertEquals(expected, result.getVerdict());
+
+            if (expected == Verdict.SAT) {
+                Set<Integer> trueCodes = new HashSet<>();
+
+                for (Literal l : p.extendModel(result.getModel())) {
+                    trueCodes.add(l.getCode());
+                }
+
+                for (Clause c : original) {
+                    boolean satisfied = false;
+
+                    for (int i = 0; i < c.size(); i++) {
+                        if (trueCodes.contains(c.literalAt(i))) satisfied = true;
+                    }
+
+                    assertTrue(satisfied);
+                }
+            }
+        }
+    }
+}
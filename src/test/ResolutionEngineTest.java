@@ -0,0 +1,102 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import literal.*;
+import resolution.ResolutionConfig;
+import resolution.ResolutionEngine;
+
+/**
+ * This class contains JUnit tests to verify that the ResolutionEngine class
+ * can be used by several threads at the same time, with an engine per thread,
+ * that an engine is not affected by later changes of its configuration,
+ * and that the clauses subsumed by a resolvent, its own parents included, are retired.
+ */
+public class ResolutionEngineTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    @Test
+    public void testParallelEngines() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        List<Boolean> expected = new ArrayList<>();
+
+        try {
+            for (int round = 0; round < 10; round++) {
+                for (int i = 1; i <= TAUTOLOGIES; i++) {
+                    ClauseSet cnf = negatedCnf(parseFile("taut" + i + ".txt"));
+
+                    results.add(pool.submit(() -> new ResolutionEngine().isSatisfiable(cnf)));
+                    expected.add(false);
+                }
+
+                for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                    ClauseSet cnf = negatedCnf(parseFile("non-taut" + i + ".txt"));
+
+                    results.add(pool.submit(() -> new ResolutionEngine().isSatisfiable(cnf)));
+                    expected.add(true);
+                }
+            }
+
+            for (int k = 0; k < results.size(); k++) {
+                assertEquals("formula " + k, expected.get(k), results.get(k).get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testConfigIsCopied() {
+        ResolutionConfig config = new ResolutionConfig();
+        ResolutionEngine engine = new ResolutionEngine(config);
+
+        config.setUnitPropagation(false);
+
+        assertTrue(engine.getConfig().isUnitPropagation());
+        assertFalse(new ResolutionEngine(config).getConfig().isUnitPropagation());
+        assertFalse(engine.isSatisfiable(negatedCnf(parseFile("taut2.txt"))));
+        assertTrue(engine.isSatisfiable(negatedCnf(parseFile("non-taut2.txt"))));
+    }
+
+    @Test
+    public void testRetiredParent() {
+        Literal a = new Atom("ret_a");
+        Literal b = new Atom("ret_b");
+        Literal c = new Atom("ret_c");
+        Literal d = new Atom("ret_d");
+
+        //the resolvent {b, c} of {~a} and {a, b, c} retires its own parent and {b, c, d}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            new Clause(Arrays.asList(a, b, c)),
+            new Clause(Arrays.asList(a, c.getOpposite())),
+            new Clause(a.getOpposite()),
+            new Clause(b.getOpposite()),
+            new Clause(Arrays.asList(b, c, d))));
+
+        ResolutionConfig config = new ResolutionConfig();
+        config.setEnableSteps(true);
+        config.setUnitPropagation(false);
+
+        boolean[] satisfiable = new boolean[1];
+        String trace = captureOutput(() -> satisfiable[0] = new ResolutionEngine(config).isSatisfiable(s));
+
+        assertFalse(satisfiable[0]);
+        assertParentRetired(trace);
+        assertTrue(trace, trace.contains("The clause " + new Clause(Arrays.asList(b, c, d)) + " is REMOVED"));
+        assertTrue(trace, trace.contains("Conclusion: {}"));
+    }
+}
@@ -383,6 +383,48 @@ public class ResolutionTest {
         assertTrue(Resolution.isSatisfiable(not_f.toCnf()));
     }
 
+    @Test
+    public void testSetOfSupportTaut() {
+
+        String taut8 = readFile("taut8.txt"); //Transitive property of implication
+
+        if (taut8 == null) {
+            fail("The file doesn't exist");
+        }
+
+        Formula f = ParseFormula.parse(taut8);
+
+        if (f == null) {
+            fail("Parsing error of formula f");
+        }
+
+        Formula not_f = new CompoundFormula(NOT, f);
+        Formula not_conclusion = new CompoundFormula(NOT, ((CompoundFormula) f).getRightSubformula());
+
+        assertFalse(Resolution.isSatisfiable(not_f.toCnf(), not_conclusion.toCnf()));
+    }
+
+    @Test
+    public void testSetOfSupportNonTaut() {
+
+        String nt = readFile("non-taut4.txt");
+
+        if (nt == null) {
+            fail("The file doesn't exist");
+        }
+
+        Formula f = ParseFormula.parse(nt);
+
+        if (f == null) {
+            fail("Parsing error of formula f");
+        }
+
+        Formula not_f = new CompoundFormula(NOT, f);
+        Formula not_conclusion = new CompoundFormula(NOT, ((CompoundFormula) f).getRightSubformula());
+
+        assertTrue(Resolution.isSatisfiable(not_f.toCnf(), not_conclusion.toCnf()));
+    }
+
     @Test
     public void testInvalidFormula() {
         String invalid = "% & # ?";
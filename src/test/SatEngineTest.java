@@ -0,0 +1,102 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static test.SatFixtures.*;
+import org.junit.*;
+import static connective.Connective.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import formula.*;
+import resolution.ResolutionConfig;
+import sat.*;
+
+/**
+ * This abstract class contains the JUnit tests shared by the SAT engines which return
+ * models, using the same tautologies and non-tautologies used by ResolutionTest, and the
+ * pigeonhole principle: the models found are checked against the clauses.
+ * Each engine extends it with its own tests.
+ */
+public abstract class SatEngineTest {
+
+    private static final int TAUTOLOGIES = 11;
+    private static final int NON_TAUTOLOGIES = 7;
+
+    /**
+     * @param config the configuration of the engine.
+     * @return a new engine to be tested.
+     */
+    protected abstract SatEngine engine(ResolutionConfig config);
+
+    /**
+     * @return the number of holes of the pigeonhole sets solved by testPigeonhole.
+     */
+    protected int holes() {
+        return 6;
+    }
+
+    @Test
+    public void testTautologies() {
+        for (int i = 1; i <= TAUTOLOGIES; i++) {
+            ClauseSet s = negatedCnf(parseFile("taut" + i + ".txt"));
+            SatResult result = this.engine(new ResolutionConfig()).solve(s);
+
+            assertEquals("taut" + i, Verdict.UNSAT, result.getVerdict());
+            assertNull(result.getModel());
+        }
+    }
+
+    @Test
+    public void testNonTautologies() {
+        for (CnfTransformation t : CnfTransformation.values()) {
+            for (int i = 1; i <= NON_TAUTOLOGIES; i++) {
+                ClauseSet s = new CompoundFormula(NOT, parseFile("non-taut" + i + ".txt")).toCnf(t);
+                SatResult result = this.engine(new ResolutionConfig()).solve(s);
+
+                assertEquals("non-taut" + i, Verdict.SAT, result.getVerdict());
+                assertModel(s, result.getModel());
+            }
+        }
+    }
+
+    @Test
+    public void testPigeonhole() {
+        SatEngine engine = this.engine(new ResolutionConfig());
+
+        assertEquals(Verdict.UNSAT, engine.solve(pigeonhole(this.holes() + 1, this.holes())).getVerdict());
+
+        ClauseSet s = pigeonhole(this.holes(), this.holes());
+        SatResult result = engine.solve(s);
+
+        assertEquals(Verdict.SAT, result.getVerdict());
+        assertModel(s, result.getModel());
+    }
+
+    @Test
+    public void testSpecialSets() {
+        assertEquals(Verdict.SAT, this.engine(new ResolutionConfig()).solve(new ClauseSet()).getVerdict());
+
+        ClauseSet s = new ClauseSet();
+        s.add(Clause.of());
+        assertEquals(Verdict.UNSAT, this.engine(new ResolutionConfig()).solve(s).getVerdict());
+
+        //the input set is not modified
+        s = pigeonhole(3, 3);
+        int size = s.size();
+        this.engine(new ResolutionConfig()).solve(s);
+        assertEquals(size, s.size());
+    }
+
+    @Test
+    public void testBudget() {
+        Budget budget = new Budget();
+        budget.setMaxResolvents(10);
+        ResolutionConfig config = new ResolutionConfig();
+        config.setBudget(budget);
+
+        SatResult result = this.engine(config).solve(pigeonhole(7, 6));
+
+        assertEquals(Verdict.UNKNOWN, result.getVerdict());
+        assertEquals(Limit.RESOLVENTS, result.getLimit());
+    }
+}
@@ -0,0 +1,185 @@
+package test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import antlr4.ParseFormula;
+import static connective.Connective.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import formula.*;
+import literal.Literal;
+import literal.LiteralTable;
+
+/**
+ * This class without constructors contains the sets of clauses and the checks
+ * shared by the tests of the SAT engines.
+ */
+final class SatFixtures {
+
+    private SatFixtures() {
+    }
+
+    /**
+     * checks that every clause of the set contains a literal true in the model.
+     */
+    static void assertModel(ClauseSet s, List<Literal> model) {
+        assertNotNull(model);
+
+        Set<Integer> trueCodes = new HashSet<>();
+
+        for (Literal l : model) {
+            assertFalse("an atom has two values", trueCodes.contains(LiteralTable.opposite(l.getCode())));
+            trueCodes.add(l.getCode());
+        }
+
+        for (Clause c : s) {
+            boolean satisfied = false;
+
+            for (int i = 0; i < c.size(); i++) {
+                if (trueCodes.contains(c.literalAt(i))) satisfied = true;
+            }
+
+            assertTrue("the clause " + c + " is false in the model", satisfied);
+        }
+    }
+
+    /**
+     * @param pigeons the number of pigeons.
+     * @param holes the number of holes.
+     * @return the clauses stating that every pigeon is in a hole, and no hole contains
+     *         two pigeons: they are unsatisfiable if and only if pigeons > holes.
+     */
+    static ClauseSet pigeonhole(int pigeons, int holes) {
+        ClauseSet s = new ClauseSet();
+        int[][] in = new int[pigeons][holes];
+
+        for (int p = 0; p < pigeons; p++) {
+            for (int h = 0; h < holes; h++) {
+                in[p][h] = LiteralTable.intern("php_p" + p + "h" + h);
+            }
+        }
+
+        for (int p = 0; p < pigeons; p++) {
+            int[] codes = new int[holes];
+
+            for (int h = 0; h < holes; h++) {
+                codes[h] = LiteralTable.positive(in[p][h]);
+            }
+
+            s.add(Clause.of(codes));
+        }
+
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    s.add(Clause.of(LiteralTable.negative(in[p][h]), LiteralTable.negative(in[q][h])));
+                }
+            }
+        }
+
+        return s;
+    }
+
+    /**
+     * runs an action, collecting what it prints to System.out.
+     *
+     * @param action the action, e.g. a call of an engine with the tracing enabled.
+     * @return the text printed by the action.
+     */
+    static String captureOutput(Runnable action) {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+
+        try {
+            action.run();
+        } finally {
+            System.setOut(stdout);
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * checks that in some step of a trace the conclusion retires one of its own premises.
+     *
+     * @param trace the trace printed by a resolution engine.
+     */
+    static void assertParentRetired(String trace) {
+        for (String step : trace.split("STEP NUMBER ")) {
+            for (String line : step.split("\n")) {
+                if (line.contains(" premise: ")) {
+                    String premise = line.substring(line.indexOf(": ") + 2);
+
+                    if (step.contains("The clause " + premise + " is REMOVED")) return;
+                }
+            }
+        }
+
+        fail("no conclusion retires its own premise:\n" + trace);
+    }
+
+    /**
+     *
+     * @param f a formula.
+     * @return the clause set of the negation of the formula.
+     */
+    static ClauseSet negatedCnf(Formula f) {
+        return new CompoundFormula(NOT, f).toCnf();
+    }
+
+    /**
+     *
+     * @param fileName the name of the text file containing the formula.
+     * @return the formula read from the file.
+     */
+    static Formula parseFile(String fileName) {
+        String str = readFile(fileName);
+
+        if (str == null) {
+            fail("The file doesn't exist");
+        }
+
+        Formula f = ParseFormula.parse(str);
+
+        if (f == null) {
+            fail("Parsing error of formula f");
+        }
+
+        return f;
+    }
+
+    /**
+     *
+     * @param fileName the name of the text file to read.
+     * @return the string containing the text of the read file.
+     */
+    static String readFile(String fileName) {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            FileReader file = new FileReader("./src/test/" + fileName);
+            int data = file.read();
+
+            while (data != -1) {
+                sb.append( (char) data );
+                data = file.read();
+            }
+
+            file.close();
+        } catch (IOException e) {
+            return null;
+        }
+
+        return sb.toString();
+    }
+}
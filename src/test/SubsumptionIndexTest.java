@@ -0,0 +1,141 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static test.SatFixtures.*;
+import java.util.Arrays;
+import org.junit.*;
+import cnf.Clause;
+import cnf.ClauseSet;
+import cnf.SubsumptionIndex;
+import literal.*;
+import resolution.ResolutionConfig;
+import resolution.ResolutionEngine;
+
+/**
+ * This class contains JUnit tests to verify the SubsumptionIndex class: the search of
+ * an indexed clause subsuming a given one, through the watched literals and the
+ * signatures, the empty clause, and the removal of the clauses.
+ */
+public class SubsumptionIndexTest {
+
+    private final Literal a = new Atom("sub_a");
+    private final Literal b = new Atom("sub_b");
+    private final Literal c = new Atom("sub_c");
+    private final Literal d = new Atom("sub_d");
+
+    @Test
+    public void testFindSubsumer() {
+        Clause ab = clause(this.a, this.b);
+        Clause notC = clause(this.c.getOpposite());
+        SubsumptionIndex index = new SubsumptionIndex();
+
+        index.add(ab);
+        index.add(notC);
+
+        assertEquals(2, index.size());
+        assertEquals(ab, index.findSubsumer(clause(this.a, this.b, this.c)));
+        assertEquals(notC, index.findSubsumer(clause(this.c.getOpposite(), this.d)));
+
+        //an equal clause subsumes the clause
+        assertEquals(ab, index.findSubsumer(clause(this.b, this.a)));
+
+        //a clause sharing only some literals, or the opposite ones, is not subsumed
+        assertNull(index.findSubsumer(clause(this.a, this.c)));
+        assertNull(index.findSubsumer(clause(this.a.getOpposite(), this.b.getOpposite())));
+        assertNull(index.findSubsumer(clause(this.c, this.d)));
+        assertNull(index.findSubsumer(new Clause()));
+    }
+
+    @Test
+    public void testWatchedLiterals() {
+        SubsumptionIndex index = new SubsumptionIndex();
+
+        //the clauses sharing "a" are watched on different literals
+        Clause ab = clause(this.a, this.b);
+        Clause ac = clause(this.a, this.c);
+        Clause ad = clause(this.a, this.d);
+
+        index.add(ab);
+        index.add(ac);
+        index.add(ad);
+
+        //every clause is found, whichever of its literals is watched
+        assertEquals(ab, index.findSubsumer(clause(this.a, this.b, this.c.getOpposite())));
+        assertEquals(ac, index.findSubsumer(clause(this.a, this.c, this.d.getOpposite())));
+        assertEquals(ad, index.findSubsumer(clause(this.a.getOpposite(), this.d, this.a)));
+
+        //a clause is indexed once
+        index.add(clause(this.b, this.a));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testEmptyClause() {
+        SubsumptionIndex index = new SubsumptionIndex();
+        Clause ab = clause(this.a, this.b);
+
+        index.add(ab);
+        index.add(new Clause());
+
+        //the empty clause subsumes every clause
+        assertEquals(2, index.size());
+        assertEquals(new Clause(), index.findSubsumer(clause(this.c)));
+        assertEquals(new Clause(), index.findSubsumer(new Clause()));
+
+        assertTrue(index.remove(new Clause()));
+        assertFalse(index.remove(new Clause()));
+        assertEquals(1, index.size());
+        assertNull(index.findSubsumer(clause(this.c)));
+        assertEquals(ab, index.findSubsumer(clause(this.a, this.b, this.c)));
+    }
+
+    @Test
+    public void testRemove() {
+        SubsumptionIndex index = new SubsumptionIndex();
+        Clause ab = clause(this.a, this.b);
+        Clause a = clause(this.a);
+
+        index.add(ab);
+        index.add(a);
+
+        assertTrue(index.remove(a));
+        assertFalse(index.remove(a));
+        assertEquals(ab, index.findSubsumer(clause(this.a, this.b, this.d)));
+        assertNull(index.findSubsumer(clause(this.a, this.d)));
+
+        assertTrue(index.remove(ab));
+        assertEquals(0, index.size());
+        assertNull(index.findSubsumer(clause(this.a, this.b, this.d)));
+
+        //a removed clause can be added again
+        index.add(a);
+        assertEquals(a, index.findSubsumer(clause(this.a, this.d)));
+    }
+
+    @Test
+    public void testSubsumedResolventTrace() {
+        //{a, b}; {~b, c}; {c}: the resolvent {a, c} is subsumed by {c}
+        ClauseSet s = new ClauseSet(Arrays.asList(
+            clause(this.a, this.b),
+            clause(this.b.getOpposite(), this.c),
+            clause(this.c)));
+
+        ResolutionConfig config = new ResolutionConfig();
+        config.setEnableSteps(true);
+        config.setUnitPropagation(false);
+
+        boolean[] satisfiable = new boolean[1];
+        String trace = captureOutput(() -> satisfiable[0] = new ResolutionEngine(config).isSatisfiable(s));
+
+        assertTrue(satisfiable[0]);
+        assertTrue(trace, trace.contains("Conclusion: " + clause(this.a, this.c)));
+        assertTrue(trace, trace.contains("DISCARDED because it is subsumed by " + clause(this.c)));
+    }
+
+    private static Clause clause(Literal... literals) {
+        return new Clause(Arrays.asList(literals));
+    }
+}